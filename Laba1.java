@@ -1,4 +1,17 @@
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.Arrays;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.StringJoiner;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * ЛР1: 1) Матриця C = A XOR B (побітово по бінарному поданню double),
@@ -12,8 +25,20 @@ public final class Laba1 {
 
     private Laba1() { }
 
-    /** Точка входу в програму */
+    /**
+     * Точка входу в програму.
+     *
+     * <p>Без аргументів — приклад на вбудованих матрицях. {@code java Laba1 <A.bin> <B.bin> [C.bin]} —
+     * пакетний режим ({@link #runFile}): C необов’язкова і пишеться у файл, лише якщо його вказано;
+     * замінені на 0.0 NaN/Infinity лише підраховуються (кількість — у підсумковому рядку), а не
+     * виводяться поелементно. Смуги рядків обробляються паралельно; властивість
+     * {@code -Dlaba1.parallel=false} вмикає послідовний прохід.
+     */
     public static void main(String[] args) {
+        if (args.length == 2 || args.length == 3) {
+            runFile(Path.of(args[0]), Path.of(args[1]), args.length == 3 ? Path.of(args[2]) : null);
+            return;
+        }
 
         final double[][] a = {
                 {1.0,  2.5, -3.0, 4.0},
@@ -29,8 +54,10 @@ public final class Laba1 {
         // Перевірка розмірів
         requireSameShape(a, b);
 
-        // Завдання 1: C = A XOR B (по бітам представлення double)
-        final double[][] c = xorByBits(a, b);
+        // Завдання 1: C = A XOR B (по бітам представлення double);
+        // екстремуми стовпців для завдання 2 рахуються в тому ж проході
+        final DoubleMatrix.XorExtremes result = xorByBits(DoubleMatrix.of(a), DoubleMatrix.of(b));
+        final DoubleMatrix c = result.c();
 
         System.out.println(SEPARATOR);
         System.out.println("Матриця C = A XOR B:");
@@ -38,10 +65,11 @@ public final class Laba1 {
         System.out.println(SEPARATOR);
 
         // Завдання 2: обчислення сум, нумерація з одиниці
+        final DoubleMatrix.ColumnExtremes extremes = result.extremes();
         // Сума максимумів у парних стовпцях
-        final double sumMaxEvenCols = sumOfColumnExtremes(c, /*takeMax=*/true,  /*isEvenIndex=*/true);
+        final double sumMaxEvenCols = extremes.sum(/*takeMax=*/true,  /*isEvenIndex=*/true);
         // Сума мінімумів у непарних стовпцях
-        final double sumMinOddCols  = sumOfColumnExtremes(c, /*takeMax=*/false, /*isEvenIndex=*/false);
+        final double sumMinOddCols  = extremes.sum(/*takeMax=*/false, /*isEvenIndex=*/false);
 
         System.out.printf("Σ(макс у парних стовпцях) = %.6f%n", sumMaxEvenCols);
         System.out.printf("Σ(мін у непарних стовпцях) = %.6f%n", sumMinOddCols);
@@ -49,64 +77,36 @@ public final class Laba1 {
     }
 
     /**
-     * Виконує побітовий XOR елементів A та B, використовуючи їх бінарне представлення double (як long)
-     *
-     * @param a Перша матриця
-     * @param b Друга матриця
-     * @return Нова матриця C
+     * Пакетний режим: A та B — двійкові файли (див. {@link MappedMatrixFiles}), що обробляються
+     * без завантаження в купу; C записується у файл {@code outputC}, якщо він не null.
+     * Паралельність задається властивістю {@code laba1.parallel} (типово true).
      */
-    private static double[][] xorByBits(double[][] a, double[][] b) {
-        final int rows = a.length;
-        final int cols = a[0].length;
-        final double[][] c = new double[rows][cols];
-
-        for (int i = 0; i < rows; i++) {
-            for (int j = 0; j < cols; j++) {
-                final long aBits = Double.doubleToLongBits(a[i][j]);
-                final long bBits = Double.doubleToLongBits(b[i][j]);
-                double result = Double.longBitsToDouble(aBits ^ bBits);
-
-                // Обробка спеціальних значень (NaN/Inf), які можуть з'явитися після XOR — обнуляємо
-                if (!Double.isFinite(result)) {
-                    System.out.printf(
-                            "Попередження: Зловлено NaN/Infinity у елементі C[%d,%d]. Замінено на 0.0%n", i, j);
-                    result = 0.0;
-                }
-                c[i][j] = result;
-            }
+    static void runFile(Path inputA, Path inputB, Path outputC) {
+        final boolean parallel = Boolean.parseBoolean(System.getProperty("laba1.parallel", "true"));
+        try {
+            final MappedMatrixFiles.Stats stats = MappedMatrixFiles.xorWithExtremes(inputA, inputB, outputC, parallel);
+            final DoubleMatrix.ColumnExtremes extremes = stats.extremes();
+            System.out.printf("Σ(макс у парних стовпцях) = %.6f%n", extremes.sum(true, true));
+            System.out.printf("Σ(мін у непарних стовпцях) = %.6f%n", extremes.sum(false, false));
+            System.out.println(stats);
+        } catch (IllegalArgumentException e) {
+            System.err.println("Помилка вхідних даних: " + e.getMessage());
+        } catch (IOException e) {
+            System.err.println("Помилка файлу: " + e.getMessage());
         }
-        return c;
     }
 
     /**
-     * Обчислює суму екстремумів (максимумів або мінімумів) по вибраних стовпцях, нумерація з одиниці
+     * Виконує побітовий XOR елементів A та B, використовуючи їх бінарне представлення double (як long)
      *
-     * @param m Матриця для обробки
-     * @param takeMax true —  максимум у стовпці, false — мінімум
-     * @param isEvenIndex true —  обробляються стовпці з парними індексами, false — з непарними
-     * @return Сума екстремальних значень по вибраних стовпцях
+     * @param a Перша матриця
+     * @param b Друга матриця
+     * @return Нова матриця C разом з екстремумами її стовпців
      */
-    private static double sumOfColumnExtremes(double[][] m, boolean takeMax, boolean isEvenIndex) {
-        if (m == null || m.length == 0 || m[0].length == 0) {
-            throw new IllegalArgumentException("Матриця не може бути порожньою або null.");
-        }
-
-        final int rows = m.length;
-        final int cols = m[0].length;
-        double sum = 0.0;
-
-        for (int j = 0; j < cols; j++) {
-            final boolean isCurrentIndexEven = ((j + 1) % 2 == 0);
-
-            if (isCurrentIndexEven == isEvenIndex) {
-                double extreme = m[0][j];
-                for (int i = 1; i < rows; i++) {
-                    extreme = takeMax ? Math.max(extreme, m[i][j]) : Math.min(extreme, m[i][j]);
-                }
-                sum += extreme;
-            }
-        }
-        return sum;
+    private static DoubleMatrix.XorExtremes xorByBits(DoubleMatrix a, DoubleMatrix b) {
+        // Обробка спеціальних значень (NaN/Inf), які можуть з'явитися після XOR — обнуляємо
+        return a.xorWithExtremes(b, (i, j) -> System.out.printf(
+                "Попередження: Зловлено NaN/Infinity у елементі C[%d,%d]. Замінено на 0.0%n", i, j), true);
     }
 
     /**
@@ -135,9 +135,677 @@ public final class Laba1 {
      *
      * @param m Матриця для друку
      */
-    private static void printMatrix(double[][] m) {
-        for (double[] row : m) {
-            System.out.println(Arrays.toString(row));
+    private static void printMatrix(DoubleMatrix m) {
+        for (int i = 0; i < m.rows(); i++) {
+            System.out.println(Arrays.toString(m.row(i)));
+        }
+    }
+}
+
+/**
+ * Щільна матриця double, що зберігається одним масивом по рядках ({@code row-major}):
+ * елемент {@code (i, j)} лежить у {@code data[i * cols + j]}. Обидва ядра ЛР1 проходять
+ * масив послідовно, тож кожен рядок кешу використовується повністю.
+ */
+final class DoubleMatrix {
+    /** Обробник елементів, що після XOR стали NaN/Infinity і були замінені на 0.0. */
+    @FunctionalInterface
+    interface NonFiniteListener {
+        void replaced(int row, int col);
+    }
+
+    /** Нічого не робить із заміненими елементами. */
+    static final NonFiniteListener IGNORE = (row, col) -> { };
+
+    /** Ядра для всіх операцій (векторні, якщо доступні, див. {@link MatrixKernels#DEFAULT}). */
+    private static MatrixKernels kernels() { return MatrixKernels.DEFAULT; }
+
+    private final int rows;
+    private final int cols;
+    private final double[] data;
+
+    DoubleMatrix(int rows, int cols) {
+        this(rows, cols, new double[checkedSize(rows, cols)]);
+    }
+
+    /** Обгортає готовий масив без копіювання. */
+    DoubleMatrix(int rows, int cols, double[] data) {
+        if (data.length != checkedSize(rows, cols)) {
+            throw new IllegalArgumentException("Довжина масиву " + data.length + " ≠ " + rows + "x" + cols);
+        }
+        this.rows = rows;
+        this.cols = cols;
+        this.data = data;
+    }
+
+    private static int checkedSize(int rows, int cols) {
+        if (rows <= 0 || cols <= 0) {
+            throw new IllegalArgumentException("Матриці не можуть мати порожні розміри.");
+        }
+        return Math.multiplyExact(rows, cols);
+    }
+
+    /** Копія прямокутного {@code double[][]}. */
+    static DoubleMatrix of(double[][] m) {
+        if (m == null || m.length == 0 || m[0] == null || m[0].length == 0) {
+            throw new IllegalArgumentException("Матриця не може бути порожньою або null.");
+        }
+        int cols = m[0].length;
+        DoubleMatrix res = new DoubleMatrix(m.length, cols);
+        for (int i = 0; i < m.length; i++) {
+            if (m[i].length != cols) throw new IllegalArgumentException("Рядок " + i + " має іншу довжину");
+            System.arraycopy(m[i], 0, res.data, i * cols, cols);
+        }
+        return res;
+    }
+
+    int rows() { return rows; }
+    int cols() { return cols; }
+    double get(int i, int j) { return data[index(i, j)]; }
+    void set(int i, int j, double v) { data[index(i, j)] = v; }
+
+    /** Копія рядка {@code i}. */
+    double[] row(int i) {
+        Objects.checkIndex(i, rows);
+        return Arrays.copyOfRange(data, i * cols, (i + 1) * cols);
+    }
+
+    double[][] toArray() {
+        double[][] res = new double[rows][];
+        for (int i = 0; i < rows; i++) res[i] = row(i);
+        return res;
+    }
+
+    /** Внутрішній масив (без копіювання) — для ядер, що працюють із матрицею напряму. */
+    double[] data() { return data; }
+
+    private int index(int i, int j) {
+        Objects.checkIndex(i, rows);
+        Objects.checkIndex(j, cols);
+        return i * cols + j;
+    }
+
+    boolean sameShape(DoubleMatrix other) {
+        return rows == other.rows && cols == other.cols;
+    }
+
+    /**
+     * {@code C = this XOR other} по бітах подання double; NaN/Infinity у результаті
+     * замінюються на 0.0 з повідомленням {@code listener} (у порядку рядків).
+     */
+    DoubleMatrix xorByBits(DoubleMatrix other, NonFiniteListener listener) {
+        return xorByBits(other, listener, kernels());
+    }
+
+    /**
+     * Те саме, що {@link #xorByBits}, але плитками в спільному {@link java.util.concurrent.ForkJoinPool}
+     * (див. {@link ParallelMatrixKernels}); результат і порядок повідомлень ті самі.
+     */
+    DoubleMatrix xorByBitsParallel(DoubleMatrix other, NonFiniteListener listener) {
+        return xorByBits(other, listener, MatrixKernels.PARALLEL);
+    }
+
+    private DoubleMatrix xorByBits(DoubleMatrix other, NonFiniteListener listener, MatrixKernels kernels) {
+        requireSameShape(other);
+        double[] c = new double[data.length];
+        kernels.xor(data, other.data, c, 0, c.length, indexListener(listener));
+        return new DoubleMatrix(rows, cols, c);
+    }
+
+    /**
+     * {@code C = this XOR other} і екстремуми стовпців C за один прохід по A та B: кожен
+     * елемент C одразу оновлює акумулятори свого стовпця, тож C не перечитується.
+     * Результат той самий, що в {@link #xorByBits} і {@link #columnExtremes}.
+     *
+     * @param keepC false — C не створюється взагалі ({@link XorExtremes#c()} дорівнює null)
+     */
+    XorExtremes xorWithExtremes(DoubleMatrix other, NonFiniteListener listener, boolean keepC) {
+        return xorWithExtremes(other, listener, keepC, kernels());
+    }
+
+    /** Те саме, що {@link #xorWithExtremes}, але смугами рядків паралельно. */
+    XorExtremes xorWithExtremesParallel(DoubleMatrix other, NonFiniteListener listener, boolean keepC) {
+        return xorWithExtremes(other, listener, keepC, MatrixKernels.PARALLEL);
+    }
+
+    private XorExtremes xorWithExtremes(DoubleMatrix other, NonFiniteListener listener, boolean keepC,
+                                        MatrixKernels kernels) {
+        requireSameShape(other);
+        double[] c = keepC ? new double[data.length] : null;
+        double[] max = MatrixKernels.maxAccumulator(cols);
+        double[] min = MatrixKernels.minAccumulator(cols);
+        kernels.xorColumnExtremes(data, other.data, c, cols, 0, rows, max, min, indexListener(listener));
+        return new XorExtremes(keepC ? new DoubleMatrix(rows, cols, c) : null, new ColumnExtremes(max, min));
+    }
+
+    private void requireSameShape(DoubleMatrix other) {
+        if (!sameShape(other)) {
+            throw new IllegalArgumentException("Розміри матриць не збігаються: "
+                    + rows + "x" + cols + " і " + other.rows + "x" + other.cols);
+        }
+    }
+
+    private MatrixKernels.IndexListener indexListener(NonFiniteListener listener) {
+        return listener == IGNORE ? MatrixKernels.IGNORE : k -> listener.replaced(k / cols, k % cols);
+    }
+
+    /**
+     * Максимуми та мінімуми всіх стовпців за один прохід по рядках: кожен рядок
+     * оновлює акумулятори всіх стовпців разом.
+     */
+    ColumnExtremes columnExtremes() {
+        return columnExtremes(kernels());
+    }
+
+    /** Те саме, що {@link #columnExtremes}, але смугами рядків паралельно; результат той самий. */
+    ColumnExtremes columnExtremesParallel() {
+        return columnExtremes(MatrixKernels.PARALLEL);
+    }
+
+    private ColumnExtremes columnExtremes(MatrixKernels kernels) {
+        double[] max = Arrays.copyOfRange(data, 0, cols);
+        double[] min = max.clone();
+        kernels.columnExtremes(data, cols, 1, rows, max, min);
+        return new ColumnExtremes(max, min);
+    }
+
+    /**
+     * Сума екстремумів по вибраних стовпцях (нумерація з одиниці), один прохід по рядках.
+     *
+     * @param takeMax     true — максимум у стовпці, false — мінімум
+     * @param isEvenIndex true — стовпці з парними номерами, false — з непарними
+     */
+    double sumOfColumnExtremes(boolean takeMax, boolean isEvenIndex) {
+        return columnExtremes().sum(takeMax, isEvenIndex);
+    }
+
+    /** Екстремуми стовпців. */
+    record ColumnExtremes(double[] max, double[] min) {
+        /** Сума максимумів або мінімумів стовпців із парними/непарними номерами (з одиниці). */
+        double sum(boolean takeMax, boolean isEvenIndex) {
+            double[] src = takeMax ? max : min;
+            double sum = 0.0;
+            // номер j + 1 парний ⇔ індекс j непарний
+            for (int j = isEvenIndex ? 1 : 0; j < src.length; j += 2) sum += src[j];
+            return sum;
+        }
+    }
+
+    /** Результат {@link #xorWithExtremes}: матриця C (або null) та екстремуми її стовпців. */
+    record XorExtremes(DoubleMatrix c, ColumnExtremes extremes) { }
+}
+
+/**
+ * Двійкові матриці на диску без завантаження в купу. Формат файлу: кількість рядків і
+ * стовпців (два int), далі rows·cols значень double по рядках — той самий порядок, що в
+ * {@link DoubleMatrix}; усе little-endian. Файли відображаються в пам’ять сегментами
+ * ({@link FileChannel#map}) і обробляються порціями з цілих рядків тими самими ядрами
+ * {@link MatrixKernels}, тож у купі лежать лише порції та акумулятори стовпців.
+ */
+final class MappedMatrixFiles {
+    /** Розмір заголовка, байтів. */
+    static final int HEADER = 2 * Integer.BYTES;
+    /** Розмір відображеного сегмента, байтів (кратний розміру double). */
+    private static final long SEGMENT = 1L << 27;
+    /** Бажана кількість елементів у порції; порція завжди містить цілі рядки. */
+    private static final int CHUNK = 1 << 18;
+
+    private MappedMatrixFiles() { }
+
+    /** Розміри матриці з заголовка. */
+    record Shape(int rows, int cols) {
+        long size() { return (long) rows * cols; }
+
+        @Override public String toString() { return rows + "x" + cols; }
+    }
+
+    /** Заповнює {@code dst} рядком {@code row} матриці, що записується. */
+    @FunctionalInterface
+    interface RowSource {
+        void fill(int row, double[] dst);
+    }
+
+    /** Підсумок обробки файлів. */
+    record Stats(Shape shape, DoubleMatrix.ColumnExtremes extremes, long replaced, long nanos) {
+        long bytesIn() { return 2 * shape.size() * Double.BYTES; }
+
+        double megabytesPerSecond() {
+            return nanos == 0 ? 0 : bytesIn() / (double) (1 << 20) / (nanos / 1e9);
+        }
+
+        @Override public String toString() {
+            return String.format("Оброблено %s (%.1f МБ) за %.1f мс (%.1f МБ/с), замінено NaN/Infinity: %d",
+                    shape, bytesIn() / (double) (1 << 20), nanos / 1e6, megabytesPerSecond(), replaced);
+        }
+    }
+
+    /** Записує матрицю рядок за рядком (файл перезаписується). */
+    static void write(Path path, int rows, int cols, RowSource source) throws IOException {
+        Shape shape = new Shape(rows, cols);
+        if (rows <= 0 || cols <= 0) throw new IllegalArgumentException("Матриці не можуть мати порожні розміри.");
+        try (FileChannel channel = create(path, shape)) {
+            MappedDoubles out = new MappedDoubles(channel, FileChannel.MapMode.READ_WRITE, shape.size());
+            double[] row = new double[cols];
+            for (int i = 0; i < rows; i++) {
+                source.fill(i, row);
+                out.write(row, 0, cols);
+            }
+        }
+    }
+
+    static void write(Path path, DoubleMatrix m) throws IOException {
+        write(path, m.rows(), m.cols(), (i, dst) -> System.arraycopy(m.data(), i * m.cols(), dst, 0, m.cols()));
+    }
+
+    /** Читає весь файл у купу — для матриць, що в неї вміщуються. */
+    static DoubleMatrix read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            Shape shape = readHeader(channel, path);
+            DoubleMatrix m = new DoubleMatrix(shape.rows(), shape.cols());
+            new MappedDoubles(channel, FileChannel.MapMode.READ_ONLY, shape.size()).read(m.data(), 0, m.data().length);
+            return m;
+        }
+    }
+
+    /**
+     * Злитий прохід {@link DoubleMatrix#xorWithExtremes} над файлами: C пишеться в
+     * {@code outputC} (перезаписується) або, якщо він null, не зберігається ніде.
+     *
+     * @throws IllegalArgumentException якщо розміри матриць різні
+     * @throws IOException              якщо файл не відповідає формату або не читається
+     */
+    static Stats xorWithExtremes(Path inputA, Path inputB, Path outputC, boolean parallel) throws IOException {
+        long start = System.nanoTime();
+        MatrixKernels kernels = parallel ? MatrixKernels.PARALLEL : MatrixKernels.DEFAULT;
+        try (FileChannel channelA = FileChannel.open(inputA, StandardOpenOption.READ);
+             FileChannel channelB = FileChannel.open(inputB, StandardOpenOption.READ)) {
+            Shape shape = readHeader(channelA, inputA);
+            Shape other = readHeader(channelB, inputB);
+            if (!shape.equals(other)) {
+                throw new IllegalArgumentException("Розміри матриць не збігаються: " + shape + " і " + other);
+            }
+            try (FileChannel channelC = outputC == null ? null : create(outputC, shape)) {
+                MappedDoubles inA = new MappedDoubles(channelA, FileChannel.MapMode.READ_ONLY, shape.size());
+                MappedDoubles inB = new MappedDoubles(channelB, FileChannel.MapMode.READ_ONLY, shape.size());
+                MappedDoubles outC = channelC == null ? null
+                        : new MappedDoubles(channelC, FileChannel.MapMode.READ_WRITE, shape.size());
+                int cols = shape.cols();
+                int chunkRows = Math.max(1, Math.min(shape.rows(), CHUNK / cols));
+                double[] a = new double[chunkRows * cols];
+                double[] b = new double[a.length];
+                double[] c = outC == null ? null : new double[a.length];
+                double[] max = MatrixKernels.maxAccumulator(cols);
+                double[] min = MatrixKernels.minAccumulator(cols);
+                long[] replaced = {0};
+                for (int row = 0; row < shape.rows(); row += chunkRows) {
+                    int n = Math.min(chunkRows, shape.rows() - row);
+                    inA.read(a, 0, n * cols);
+                    inB.read(b, 0, n * cols);
+                    kernels.xorColumnExtremes(a, b, c, cols, 0, n, max, min, k -> replaced[0]++);
+                    if (outC != null) outC.write(c, 0, n * cols);
+                }
+                return new Stats(shape, new DoubleMatrix.ColumnExtremes(max, min), replaced[0],
+                        System.nanoTime() - start);
+            }
+        }
+    }
+
+    private static Shape readHeader(FileChannel channel, Path path) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER).order(ByteOrder.LITTLE_ENDIAN);
+        while (header.hasRemaining()) {
+            if (channel.read(header, header.position()) < 0) throw new EOFException(path + ": немає заголовка матриці");
+        }
+        Shape shape = new Shape(header.getInt(0), header.getInt(Integer.BYTES));
+        long body = channel.size() - HEADER;
+        if (shape.rows() <= 0 || shape.cols() <= 0 || body % Double.BYTES != 0 || body / Double.BYTES != shape.size()) {
+            throw new IOException(path + ": заголовок " + shape + " не відповідає розміру файлу " + channel.size());
+        }
+        return shape;
+    }
+
+    private static FileChannel create(Path path, Shape shape) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(HEADER).order(ByteOrder.LITTLE_ENDIAN)
+                    .putInt(shape.rows()).putInt(shape.cols()).flip();
+            while (header.hasRemaining()) channel.write(header);
+            return channel;
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /** Послідовне читання або запис значень після заголовка, сегмент за сегментом. Канал не закриває. */
+    private static final class MappedDoubles {
+        private final FileChannel channel;
+        private final FileChannel.MapMode mode;
+        private final long end;
+        private long position = HEADER;
+        private DoubleBuffer segment = DoubleBuffer.allocate(0);
+
+        MappedDoubles(FileChannel channel, FileChannel.MapMode mode, long count) {
+            this.channel = channel;
+            this.mode = mode;
+            this.end = HEADER + count * Double.BYTES;
+        }
+
+        void read(double[] dst, int off, int len) throws IOException {
+            while (len > 0) {
+                int n = next(len);
+                segment.get(dst, off, n);
+                off += n;
+                len -= n;
+            }
+        }
+
+        void write(double[] src, int off, int len) throws IOException {
+            while (len > 0) {
+                int n = next(len);
+                segment.put(src, off, n);
+                off += n;
+                len -= n;
+            }
+        }
+
+        /** Скільки з {@code len} значень вміщує поточний сегмент; за потреби відображає наступний. */
+        private int next(int len) throws IOException {
+            if (!segment.hasRemaining()) {
+                long size = Math.min(SEGMENT, end - position);
+                if (size <= 0) throw new EOFException("Вихід за межі матриці у файлі");
+                // у режимі READ_WRITE відображення саме розширює файл до потрібного розміру
+                segment = channel.map(mode, position, size).order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer();
+                position += size;
+            }
+            return Math.min(len, segment.remaining());
+        }
+    }
+}
+
+/**
+ * Спільна основа ручних замірів ЛР1 (JMH у збірці немає): випадкові матриці, побітові
+ * перевірки та цикл раундів, де перші раунди прогрівають JIT. Класи {@code Matrix*Benchmark}
+ * лише оголошують свої випадки.
+ */
+final class MatrixBench {
+    /** Розмір матриць n×n, якщо його не задано першим аргументом. */
+    static final int DEFAULT_SIZE = 4000;
+
+    private MatrixBench() { }
+
+    /** Розмір n з першого аргументу або {@link #DEFAULT_SIZE}. */
+    static int size(String[] args) {
+        return args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_SIZE;
+    }
+
+    /** Випадкова матриця n×n (див. {@link #fill}). */
+    static DoubleMatrix matrix(int n, long seed) {
+        return DoubleMatrix.of(random(n, seed));
+    }
+
+    static double[][] random(int n, long seed) {
+        SplittableRandom rnd = new SplittableRandom(seed);
+        double[][] m = new double[n][n];
+        for (double[] row : m) fill(row, rnd);
+        return m;
+    }
+
+    /** Значення з усіма можливими показниками, щоб XOR давав і NaN/Infinity. */
+    static void fill(double[] row, SplittableRandom rnd) {
+        for (int j = 0; j < row.length; j++) {
+            row[j] = rnd.nextInt(4) == 0 ? Double.longBitsToDouble(rnd.nextLong()) : rnd.nextDouble(-1e6, 1e6);
+        }
+    }
+
+    static boolean same(double[] x, double[] y) {
+        return MatrixKernels.Loader.sameBits(x, y);
+    }
+
+    static boolean same(DoubleMatrix.ColumnExtremes x, DoubleMatrix.ColumnExtremes y) {
+        return same(x.max(), y.max()) && same(x.min(), y.min());
+    }
+
+    /** @throws IllegalStateException з {@code message}, якщо {@code ok} хибне */
+    static void check(boolean ok, String message) {
+        if (!ok) throw new IllegalStateException(message);
+    }
+
+    /** Виконує {@code body} {@code rounds} разів; після кожного раунду друкує {@code label} і заміри. */
+    static void rounds(int rounds, String label, Consumer<Round> body) {
+        for (int r = 0; r < rounds; r++) {
+            Round round = new Round();
+            body.accept(round);
+            System.out.println(label + ": " + round.line);
+        }
+    }
+
+    /** Заміри одного раунду в порядку виконання. */
+    static final class Round {
+        private final StringJoiner line = new StringJoiner(", ");
+
+        /** Виконує {@code op} і записує його час під назвою {@code name}. */
+        <T> T time(String name, Supplier<T> op) {
+            long t0 = System.nanoTime();
+            T result = op.get();
+            line.add(String.format("%s %7.1f мс", name, (System.nanoTime() - t0) / 1e6));
+            return result;
+        }
+
+        /** Те саме для дії без результату. */
+        void run(String name, Runnable op) {
+            time(name, () -> {
+                op.run();
+                return null;
+            });
+        }
+    }
+}
+
+/**
+ * {@code double[][]} із проходом по стовпцях проти {@link DoubleMatrix} на великих матрицях.
+ * Запуск: {@code java -Xmx4g -cp . MatrixLayoutBenchmark [n]} (матриці n×n, типово 4000).
+ */
+class MatrixLayoutBenchmark {
+
+    public static void main(String[] args) {
+        int n = MatrixBench.size(args);
+        double[][] a = MatrixBench.random(n, 1);
+        double[][] b = MatrixBench.random(n, 2);
+        DoubleMatrix fa = DoubleMatrix.of(a);
+        DoubleMatrix fb = DoubleMatrix.of(b);
+
+        MatrixBench.rounds(3, n + "x" + n, r -> {
+            double[][] c = r.time("XOR double[][]", () -> legacyXor(a, b));
+            double legacy = r.time("екстремуми по стовпцях",
+                    () -> legacyExtremes(c, true, true) + legacyExtremes(c, false, false));
+            DoubleMatrix fc = r.time("XOR DoubleMatrix", () -> fa.xorByBits(fb, DoubleMatrix.IGNORE));
+            double flat = r.time("екстремуми по рядках", () -> {
+                DoubleMatrix.ColumnExtremes e = fc.columnExtremes();
+                return e.sum(true, true) + e.sum(false, false);
+            });
+            MatrixBench.check(Double.doubleToLongBits(legacy) == Double.doubleToLongBits(flat),
+                    "Результати різняться: " + legacy + " ≠ " + flat);
+        });
+    }
+
+    /** Попередній {@code Laba1.xorByBits} без друку попереджень. */
+    private static double[][] legacyXor(double[][] a, double[][] b) {
+        double[][] c = new double[a.length][a[0].length];
+        for (int i = 0; i < a.length; i++) {
+            for (int j = 0; j < a[0].length; j++) {
+                double r = Double.longBitsToDouble(Double.doubleToLongBits(a[i][j]) ^ Double.doubleToLongBits(b[i][j]));
+                c[i][j] = Double.isFinite(r) ? r : 0.0;
+            }
+        }
+        return c;
+    }
+
+    /** Попередній {@code Laba1.sumOfColumnExtremes}: прохід по стовпцях. */
+    private static double legacyExtremes(double[][] m, boolean takeMax, boolean isEvenIndex) {
+        double sum = 0.0;
+        for (int j = 0; j < m[0].length; j++) {
+            if (((j + 1) % 2 == 0) == isEvenIndex) {
+                double extreme = m[0][j];
+                for (int i = 1; i < m.length; i++) {
+                    extreme = takeMax ? Math.max(extreme, m[i][j]) : Math.min(extreme, m[i][j]);
+                }
+                sum += extreme;
+            }
+        }
+        return sum;
+    }
+}
+
+/**
+ * Скалярні ядра проти векторних: побітова перевірка на випадкових матрицях і час.
+ * Запуск: {@code java --add-modules jdk.incubator.vector -Xmx4g -cp . MatrixKernelsBenchmark [n]}.
+ */
+class MatrixKernelsBenchmark {
+
+    public static void main(String[] args) {
+        int n = MatrixBench.size(args);
+        MatrixKernels scalar = MatrixKernels.scalar();
+        MatrixKernels vector = MatrixKernels.Loader.vector();
+        if (vector == null) {
+            System.out.println("Векторні ядра недоступні (потрібні vector/VectorMatrixKernels.java "
+                    + "і --add-modules jdk.incubator.vector); типові: " + MatrixKernels.DEFAULT.name());
+            return;
+        }
+        double[] a = MatrixBench.matrix(n, 1).data();
+        double[] b = MatrixBench.matrix(n, 2).data();
+        double[] cs = new double[a.length];
+        double[] cv = new double[a.length];
+        int[] replaced = new int[2];
+
+        MatrixBench.rounds(5, n + "x" + n + " (" + vector.name() + ")", r -> {
+            replaced[0] = replaced[1] = 0;
+            r.run("XOR скалярно", () -> scalar.xor(a, b, cs, 0, a.length, k -> replaced[0]++));
+            r.run("векторно", () -> vector.xor(a, b, cv, 0, a.length, k -> replaced[1]++));
+            double[] maxS = Arrays.copyOfRange(cs, 0, n);
+            double[] minS = maxS.clone();
+            double[] maxV = maxS.clone();
+            double[] minV = maxS.clone();
+            r.run("екстремуми скалярно", () -> scalar.columnExtremes(cs, n, 1, n, maxS, minS));
+            r.run("векторно", () -> vector.columnExtremes(cs, n, 1, n, maxV, minV));
+            MatrixBench.check(replaced[0] == replaced[1] && MatrixBench.same(cs, cv)
+                            && MatrixBench.same(maxS, maxV) && MatrixBench.same(minS, minV),
+                    "Скалярні та векторні ядра дали різні результати");
+        });
+    }
+}
+
+/**
+ * Послідовні ядра проти {@link ParallelMatrixKernels}: побітова перевірка (разом із порядком
+ * повідомлень про NaN/Infinity) і час.
+ * Запуск: {@code java -Xmx4g -cp . MatrixParallelBenchmark [n]} (матриці n×n, типово 4000).
+ */
+class MatrixParallelBenchmark {
+
+    public static void main(String[] args) {
+        int n = MatrixBench.size(args);
+        DoubleMatrix a = MatrixBench.matrix(n, 1);
+        DoubleMatrix b = MatrixBench.matrix(n, 2);
+        System.out.printf("Ядра: %s, потоків у ForkJoinPool: %d%n", MatrixKernels.PARALLEL.name(),
+                java.util.concurrent.ForkJoinPool.getCommonPoolParallelism());
+
+        MatrixBench.rounds(5, n + "x" + n, r -> {
+            StringBuilder seqLog = new StringBuilder();
+            StringBuilder parLog = new StringBuilder();
+            DoubleMatrix seq = r.time("XOR послідовно",
+                    () -> a.xorByBits(b, (i, j) -> seqLog.append(i).append(':').append(j).append(' ')));
+            DoubleMatrix par = r.time("паралельно",
+                    () -> a.xorByBitsParallel(b, (i, j) -> parLog.append(i).append(':').append(j).append(' ')));
+            DoubleMatrix.ColumnExtremes seqE = r.time("екстремуми послідовно", seq::columnExtremes);
+            DoubleMatrix.ColumnExtremes parE = r.time("паралельно", seq::columnExtremesParallel);
+            MatrixBench.check(MatrixBench.same(seq.data(), par.data()) && seqLog.toString().equals(parLog.toString())
+                            && MatrixBench.same(seqE, parE),
+                    "Послідовний і паралельний режими дали різні результати");
+        });
+    }
+}
+
+/**
+ * Окремі XOR і пошук екстремумів проти злитого проходу ({@link DoubleMatrix#xorWithExtremes}),
+ * з матрицею C і без неї: побітова перевірка і час.
+ * Запуск: {@code java -Xmx4g -cp . MatrixFusedBenchmark [n]} (матриці n×n, типово 4000).
+ */
+class MatrixFusedBenchmark {
+
+    public static void main(String[] args) {
+        int n = MatrixBench.size(args);
+        DoubleMatrix a = MatrixBench.matrix(n, 1);
+        DoubleMatrix b = MatrixBench.matrix(n, 2);
+        System.out.println("Ядра: " + MatrixKernels.DEFAULT.name());
+
+        MatrixBench.rounds(5, n + "x" + n, r -> {
+            DoubleMatrix c = r.time("окремо XOR", () -> a.xorByBits(b, DoubleMatrix.IGNORE));
+            DoubleMatrix.ColumnExtremes separate = r.time("екстремуми", c::columnExtremes);
+            DoubleMatrix.XorExtremes fused = r.time("злито з C", () -> a.xorWithExtremes(b, DoubleMatrix.IGNORE, true));
+            DoubleMatrix.XorExtremes noC = r.time("без C", () -> a.xorWithExtremes(b, DoubleMatrix.IGNORE, false));
+            DoubleMatrix.XorExtremes parallel = r.time("без C паралельно",
+                    () -> a.xorWithExtremesParallel(b, DoubleMatrix.IGNORE, false));
+            MatrixBench.check(MatrixBench.same(c.data(), fused.c().data()) && noC.c() == null
+                            && MatrixBench.same(separate, fused.extremes()) && MatrixBench.same(separate, noC.extremes())
+                            && MatrixBench.same(separate, parallel.extremes()),
+                    "Злитий прохід дав інший результат");
+        });
+    }
+}
+
+/**
+ * Злитий прохід над відображеними файлами проти того самого в купі: побітова перевірка
+ * екстремумів і C, потім час на матриці, більшій за купу.
+ * Запуск: {@code java -Xmx256m -cp . MatrixFileBenchmark [rows cols] [каталог]} (типово 12000×12000,
+ * тобто файли по ~1.1 ГБ; потрібно ~3.3 ГБ на диску).
+ */
+class MatrixFileBenchmark {
+
+    public static void main(String[] args) throws IOException {
+        int rows = args.length >= 2 ? Integer.parseInt(args[0]) : 12000;
+        int cols = args.length >= 2 ? Integer.parseInt(args[1]) : 12000;
+        Path dir = Path.of(args.length == 1 ? args[0] : args.length >= 3 ? args[2] : System.getProperty("java.io.tmpdir"));
+        Path a = dir.resolve("laba1-a.bin");
+        Path b = dir.resolve("laba1-b.bin");
+        Path c = dir.resolve("laba1-c.bin");
+        try {
+            // перевірка в купі на невеликій матриці з неповною останньою порцією
+            DoubleMatrix smallA = MatrixBench.matrix(731, 1);
+            DoubleMatrix smallB = MatrixBench.matrix(731, 2);
+            MappedMatrixFiles.write(a, smallA);
+            MappedMatrixFiles.write(b, smallB);
+            DoubleMatrix.XorExtremes expected = smallA.xorWithExtremes(smallB, DoubleMatrix.IGNORE, true);
+            for (boolean parallel : new boolean[]{false, true}) {
+                MappedMatrixFiles.Stats stats = MappedMatrixFiles.xorWithExtremes(a, b, c, parallel);
+                MatrixBench.check(MatrixBench.same(expected.c().data(), MappedMatrixFiles.read(c).data())
+                                && MatrixBench.same(expected.extremes(), stats.extremes()),
+                        "Результат із файлів відрізняється від обчисленого в купі");
+            }
+
+            System.out.printf("Генерація %dx%d ...%n", rows, cols);
+            MappedMatrixFiles.write(a, rows, cols, (i, dst) -> MatrixBench.fill(dst, new SplittableRandom(31L * i + 1)));
+            MappedMatrixFiles.write(b, rows, cols, (i, dst) -> MatrixBench.fill(dst, new SplittableRandom(31L * i + 2)));
+            MappedMatrixFiles.Stats noC = MappedMatrixFiles.xorWithExtremes(a, b, null, true);
+            System.out.println("Без C:      " + noC);
+            System.out.println("C у файл:   " + MappedMatrixFiles.xorWithExtremes(a, b, c, true));
+
+            // еталон без файлів: ті самі рядки генеруються ще раз і зводяться скалярним ядром
+            double[] rowA = new double[cols];
+            double[] rowB = new double[cols];
+            double[] max = MatrixKernels.maxAccumulator(cols);
+            double[] min = MatrixKernels.minAccumulator(cols);
+            for (int i = 0; i < rows; i++) {
+                MatrixBench.fill(rowA, new SplittableRandom(31L * i + 1));
+                MatrixBench.fill(rowB, new SplittableRandom(31L * i + 2));
+                MatrixKernels.scalar().xorColumnExtremes(rowA, rowB, null, cols, 0, 1, max, min, MatrixKernels.IGNORE);
+            }
+            MatrixBench.check(MatrixBench.same(max, noC.extremes().max()) && MatrixBench.same(min, noC.extremes().min()),
+                    "Екстремуми з файлів відрізняються від еталонних");
+            System.out.println("Екстремуми збігаються з еталоном.");
+        } finally {
+            java.nio.file.Files.deleteIfExists(a);
+            java.nio.file.Files.deleteIfExists(b);
+            java.nio.file.Files.deleteIfExists(c);
         }
     }
 }
@@ -1,7 +1,14 @@
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.CharBuffer;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Objects;
 import java.util.Scanner;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.function.IntPredicate;
 
 /**
  * ЛР2: Із заданого тексту видалити всі слова визначеної довжини,
@@ -12,17 +19,34 @@ public final class Laba2 {
     /** Розділювач для виводу. */
     private static final String SEP = "-*".repeat(80);
 
-    /** Голосні літери  */
-    private static final String VOWELS = "аеєиіїоуюяaeiou";
-
-    /** Патерн для знаходження слова  */
-    private static final Pattern WORD_PATTERN =
-            Pattern.compile("\\b\\p{L}+(?:['’]\\p{L}+)*\\b", Pattern.UNICODE_CHARACTER_CLASS);
-
     private Laba2() {}
 
+    /**
+     * Без аргументів — інтерактивний режим {@link #run()};
+     * {@code <довжина> <вхідний файл> <вихідний файл>} — пакетна обробка файлу (UTF-8).
+     */
     public static void main(String[] args) {
-        run();
+        if (args.length == 3) {
+            runFile(args[0], Path.of(args[1]), Path.of(args[2]));
+        } else {
+            run();
+        }
+    }
+
+    /** Пакетний режим: вхід відображається в пам’ять, результат пишеться у файл. */
+    static void runFile(String lenRaw, Path input, Path output) {
+        try {
+            final int targetLen = Integer.parseInt(lenRaw.trim());
+            final WordFilter filter = WordFilter.consonantWords(targetLen);
+            final MappedTextFiles.Stats stats = MappedTextFiles.process(input, output, filter::filter);
+            System.out.println(stats);
+        } catch (NumberFormatException e) {
+            System.err.println("Помилка: довжина має бути цілим числом.");
+        } catch (IllegalArgumentException e) {
+            System.err.println("Помилка вхідних даних: " + e.getMessage());
+        } catch (IOException e) {
+            System.err.println("Помилка файлу: " + e.getMessage());
+        }
     }
 
     /**
@@ -60,41 +84,10 @@ public final class Laba2 {
                 throw new IllegalArgumentException("Порожній текст");
             }
 
-            // Обробка тексту
-            final Matcher matcher = WORD_PATTERN.matcher(text);
+            // Обробка тексту: видалення слів і очищення пробілів за один прохід
             final StringBuilder outputBuilder = new StringBuilder(text.length());
-
-            int lastMatchEnd = 0;
-            int removedCount = 0;
-
-            while (matcher.find()) {
-                final String word = matcher.group();
-                // Використання codePointCount для коректної довжини Unicode-слова
-                final int wordLen = word.codePointCount(0, word.length());
-                final int firstCodePoint = word.codePointAt(0);
-
-                // Перевірка, чи слово починається з приголосної літери
-                final boolean startsWithConsonant = isConsonant(firstCodePoint);
-                final boolean shouldRemove = startsWithConsonant && (wordLen == targetLen);
-
-                if (shouldRemove) {
-                    // Додаємо текст між попереднім і поточним збігом
-                    outputBuilder.append(text, lastMatchEnd, matcher.start());
-                    lastMatchEnd = matcher.end();
-                    removedCount++;
-                }
-            }
-            // Додаємо залишок тексту після останнього збігу
-            outputBuilder.append(text, lastMatchEnd, text.length());
-
-            // Фінальне очищення тексту:
-            // 1. Заміна послідовностей пробілів/табуляцій на один пробіл.
-            // 2. Видалення пробілів/табуляцій наприкінці рядків.
-            // 3. Видалення пробілів на початку/кінці всього тексту.
-            final String cleaned = outputBuilder.toString()
-                    .replaceAll("[\\t ]{2,}", " ")
-                    .replaceAll("(?m)[\\t ]+$", "")
-                    .strip();
+            final long removedCount = WordFilter.consonantWords(targetLen).filter(text, outputBuilder);
+            final String cleaned = outputBuilder.toString();
 
             // Вивід
             System.out.println(SEP);
@@ -121,11 +114,354 @@ public final class Laba2 {
      * @param codePoint Кодова точка Unicode першого символу слова
      * @return  true — приголосна літера, інакше false
      */
-    private static boolean isConsonant(int codePoint) {
-        if (!Character.isLetter(codePoint)) {
-            return false;
+    static boolean isConsonant(int codePoint) {
+        return VowelTable.DEFAULT.isConsonant(codePoint);
+    }
+}
+
+/**
+ * Рушій ЛР2: видаляє слова заданої довжини, перша кодова точка яких задовольняє умову,
+ * і одразу очищує пробіли.
+ *
+ * <p>Результат збігається з попередньою реалізацією {@link Laba2#run()} (пошук слів
+ * {@code \b\p{L}+(?:['’]\p{L}+)*\b} з {@code UNICODE_CHARACTER_CLASS}, далі
+ * {@code [\t ]{2,}} → пробіл, прибирання {@code [\t ]+} у кінці рядків і {@code strip()}),
+ * але текст проходиться один раз за кодовими точками, а слова не перетворюються на рядки:
+ * рішення приймається за першою кодовою точкою та довжиною. Незмінні ділянки
+ * копіюються у вихід цілими діапазонами.
+ */
+final class WordFilter {
+    /** Початковий розмір вікна потокового режиму, символів. */
+    private static final int DEFAULT_WINDOW = 1 << 16;
+
+    private final int length;
+    private final IntPredicate firstCodePoint;
+
+    /**
+     * @param length         довжина слова в кодових точках (> 0)
+     * @param firstCodePoint умова на першу кодову точку слова
+     */
+    WordFilter(int length, IntPredicate firstCodePoint) {
+        if (length <= 0) throw new IllegalArgumentException("Довжина має бути > 0");
+        this.length = length;
+        this.firstCodePoint = Objects.requireNonNull(firstCodePoint, "Умова не може бути null");
+    }
+
+    /** Фільтр ЛР2: слова довжини {@code length}, що починаються з приголосної. */
+    static WordFilter consonantWords(int length) {
+        return new WordFilter(length, Laba2::isConsonant);
+    }
+
+    /**
+     * Фільтрує текст у {@code out}.
+     *
+     * @return кількість видалених слів
+     */
+    long filter(CharSequence text, Appendable out) throws IOException {
+        Pass pass = new Pass(out);
+        pass.scan(text, 0, text.length());
+        return pass.finish();
+    }
+
+    /** Фільтрує текст у рядок; для {@code StringBuilder} {@link IOException} неможливий. */
+    String filter(CharSequence text) {
+        StringBuilder sb = new StringBuilder(text.length());
+        try {
+            filter(text, sb);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Потоковий режим: читає {@code in} вікнами, сканує кожне до останнього пробільного
+     * символу (слово не може його перетнути) і пише результат у {@code out}.
+     * Пам’ять обмежена вікном, а не розміром входу. Потоки не закриваються.
+     *
+     * @return кількість видалених слів
+     */
+    long filter(Reader in, Writer out) throws IOException {
+        Pass pass = new Pass(out);
+        char[] buf = new char[DEFAULT_WINDOW];
+        CharBuffer view = CharBuffer.wrap(buf);
+        int start = 0;
+        int end = 0;
+        // у (start; checked) пробільних символів немає — ці позиції вже переглянуто
+        int checked = 0;
+        int n;
+        while ((n = in.read(buf, end, buf.length - end)) >= 0) {
+            end += n;
+            int cut = end - 1;
+            int stop = Math.max(start, checked);
+            while (cut > stop && !WordSyntax.isWhitespace(buf[cut])) cut--;
+            if (cut > start && WordSyntax.isWhitespace(buf[cut])) {
+                pass.scan(view, start, cut);
+                start = cut;
+            }
+            checked = end;
+            if (start > 0) {
+                System.arraycopy(buf, start, buf, 0, end - start);
+                end -= start;
+                checked -= start;
+                start = 0;
+            } else if (end == buf.length) {
+                buf = Arrays.copyOf(buf, buf.length * 2);
+                view = CharBuffer.wrap(buf);
+            }
         }
-        final int lowerCaseCodePoint = Character.toLowerCase(codePoint);
-        return VOWELS.indexOf(lowerCaseCodePoint) < 0;
+        pass.scan(view, start, end);
+        long removed = pass.finish();
+        out.flush();
+        return removed;
+    }
+
+    /** Стан одного проходу: лічильник і очищення пробілів. */
+    private final class Pass {
+        private final Appendable out;
+        /** Поточна серія пробільних символів (ще невідомо, чи це кінець рядка/тексту). */
+        private final StringBuilder pending = new StringBuilder();
+        private boolean started;
+        private long removed;
+
+        Pass(Appendable out) {
+            this.out = out;
+        }
+
+        /**
+         * Сканує {@code [from; to)}. Символ перед {@code from} і символ на {@code to}
+         * (якщо є) мають бути пробільними — тоді межі фрагментів не впливають на пошук слів.
+         */
+        void scan(CharSequence src, int from, int to) throws IOException {
+            int kept = from;
+            boolean prevWord = false;
+            int p = from;
+            while (p < to) {
+                int cp = Character.codePointAt(src, p);
+                if (!prevWord && WordSyntax.isLetter(cp)) {
+                    int end = WordSyntax.matchWord(src, p, to);
+                    if (end >= 0) {
+                        if (isTarget(src, p, end, cp)) {
+                            emit(src, kept, p);
+                            kept = end;
+                            removed++;
+                        }
+                        prevWord = true;
+                        p = end;
+                        continue;
+                    }
+                }
+                prevWord = WordSyntax.isWordChar(cp);
+                p += Character.charCount(cp);
+            }
+            emit(src, kept, to);
+        }
+
+        private boolean isTarget(CharSequence src, int from, int to, int first) {
+            if (to - from < length || !firstCodePoint.test(first)) return false;
+            return Character.codePointCount(src, from, to) == length;
+        }
+
+        /** Відкидає кінцеві пробільні символи (аналог {@code strip()}). */
+        long finish() {
+            pending.setLength(0);
+            return removed;
+        }
+
+        /** Передає незмінену ділянку у вихід, накопичуючи пробільні серії. */
+        private void emit(CharSequence src, int from, int to) throws IOException {
+            int i = from;
+            while (i < to) {
+                char c = src.charAt(i);
+                if (WordSyntax.isWhitespace(c)) {
+                    if (started) pending.append(c);
+                    i++;
+                    continue;
+                }
+                // Незмінна ділянка: непробільні символи й одиночні [\t ] між ними.
+                int j = i + 1;
+                while (j < to) {
+                    char d = src.charAt(j);
+                    if (!WordSyntax.isWhitespace(d)) {
+                        j++;
+                    } else if ((d == ' ' || d == '\t') && j + 1 < to
+                            && !WordSyntax.isWhitespace(src.charAt(j + 1)) && src.charAt(j + 1) != '\u0085') {
+                        j += 2;
+                    } else {
+                        break;
+                    }
+                }
+                flushPending(c);
+                started = true;
+                write(src, i, j);
+                i = j;
+            }
+        }
+
+        /**
+         * Серії {@code [\t ]} перед кінцем рядка прибираються, довші за один символ
+         * стають пробілом, інші пробільні символи лишаються як є.
+         */
+        private void flushPending(char next) throws IOException {
+            int n = pending.length();
+            int i = 0;
+            while (i < n) {
+                char c = pending.charAt(i);
+                if (c != ' ' && c != '\t') {
+                    out.append(c);
+                    i++;
+                    continue;
+                }
+                int j = i + 1;
+                while (j < n && (pending.charAt(j) == ' ' || pending.charAt(j) == '\t')) j++;
+                char after = j < n ? pending.charAt(j) : next;
+                if (!isLineTerminator(after)) out.append(j - i > 1 ? ' ' : c);
+                i = j;
+            }
+            pending.setLength(0);
+        }
+
+        /** Запис діапазону без проміжних рядків, коли вихід — {@link Writer}. */
+        private void write(CharSequence src, int from, int to) throws IOException {
+            if (out instanceof Writer w) {
+                if (src instanceof String s) {
+                    w.write(s, from, to - from);
+                    return;
+                }
+                if (src instanceof CharBuffer cb && cb.hasArray()) {
+                    w.write(cb.array(), cb.arrayOffset() + cb.position() + from, to - from);
+                    return;
+                }
+            }
+            out.append(src, from, to);
+        }
+    }
+
+    private static boolean isLineTerminator(char c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
+}
+
+/**
+ * Пропускна здатність {@link WordFilter} проти попередньої реалізації (регекс +
+ * {@code replaceAll}) на великих текстах. Запуск: {@code java -cp . WordFilterBenchmark}.
+ */
+class WordFilterBenchmark {
+
+    private static final String[] VOCAB = {
+            "сонце", "світить", "яскраво", "гарний", "день", "для", "прогулянки", "в", "парку",
+            "проте", "вітер", "псує", "настрій", "хмари", "пливуть", "м’ята", "п'ять", "Київ",
+            "читати", "книжку", "і", "ми", "їхали", "додому", "ґанок", "єдність", "об’єкт"
+    };
+    private static final String[] GAPS = {" ", " ", " ", ", ", "  ", "\t", ". ", "!\n", " — "};
+
+    public static void main(String[] args) throws IOException {
+        WordFilter filter = WordFilter.consonantWords(5);
+        for (int mb : new int[]{4, 16, 64}) {
+            String text = corpus(mb << 20, mb);
+            double size = text.getBytes(StandardCharsets.UTF_8).length / (double) (1 << 20);
+
+            StringBuilder out = new StringBuilder(text.length());
+            long removed = filter.filter(text, out);
+            if (mb <= 16 && !out.toString().equals(legacy(text, 5))) {
+                throw new IllegalStateException("WordFilter розходиться з регекс-реалізацією");
+            }
+            double legacy = mb <= 16 ? best(() -> legacy(text, 5)) : Double.NaN;
+            double inMemory = best(() -> filter.filter(text));
+            double streaming = best(() -> {
+                try {
+                    filter.filter(new java.io.StringReader(text), Writer.nullWriter());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            String legacyRate = Double.isNaN(legacy) ? "      —" : String.format("%7.1f", size / legacy);
+            System.out.printf("%3d МБ (видалено %d): регекс %s МБ/с, рядок %7.1f МБ/с, Reader→Writer %7.1f МБ/с%n",
+                    mb, removed, legacyRate, size / inMemory, size / streaming);
+        }
+    }
+
+    /** Найкращий час із трьох запусків, с. */
+    private static double best(Runnable r) {
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            long t0 = System.nanoTime();
+            r.run();
+            best = Math.min(best, System.nanoTime() - t0);
+        }
+        return best / 1e9;
+    }
+
+    private static String corpus(int chars, long seed) {
+        java.util.SplittableRandom rnd = new java.util.SplittableRandom(seed);
+        StringBuilder sb = new StringBuilder(chars + 32);
+        while (sb.length() < chars) {
+            sb.append(VOCAB[rnd.nextInt(VOCAB.length)]).append(GAPS[rnd.nextInt(GAPS.length)]);
+        }
+        return sb.toString();
+    }
+
+    /** Попередня реалізація з {@link Laba2#run()} — еталон. */
+    private static String legacy(String text, int targetLen) {
+        java.util.regex.Matcher matcher = java.util.regex.Pattern.compile(
+                "\\b\\p{L}+(?:['’]\\p{L}+)*\\b", java.util.regex.Pattern.UNICODE_CHARACTER_CLASS).matcher(text);
+        StringBuilder sb = new StringBuilder(text.length());
+        int last = 0;
+        while (matcher.find()) {
+            String word = matcher.group();
+            if (Laba2.isConsonant(word.codePointAt(0)) && word.codePointCount(0, word.length()) == targetLen) {
+                sb.append(text, last, matcher.start());
+                last = matcher.end();
+            }
+        }
+        sb.append(text, last, text.length());
+        return sb.toString().replaceAll("[\\t ]{2,}", " ").replaceAll("(?m)[\\t ]+$", "").strip();
+    }
+}
+
+/**
+ * Порівняння класифікації перших літер: {@code toLowerCase + String.indexOf} проти
+ * {@link VowelTable}. JMH у збірці немає, тому замір ручний: прогрів, кілька раундів,
+ * результат сумується, щоб JIT не відкинув обчислення.
+ * Запуск: {@code java -cp . VowelTableBenchmark}.
+ */
+class VowelTableBenchmark {
+
+    public static void main(String[] args) {
+        int[] letters = sample(1 << 22, 17);
+        for (int cp = 0; cp <= Character.MAX_CODE_POINT; cp++) {
+            if (legacyIsConsonant(cp) != VowelTable.DEFAULT.isConsonant(cp)) {
+                throw new IllegalStateException("Розбіжність для U+" + Integer.toHexString(cp));
+            }
+        }
+        for (int round = 0; round < 5; round++) {
+            long t0 = System.nanoTime();
+            int legacy = 0;
+            for (int cp : letters) if (legacyIsConsonant(cp)) legacy++;
+            long t1 = System.nanoTime();
+            int table = 0;
+            for (int cp : letters) if (VowelTable.DEFAULT.isConsonant(cp)) table++;
+            long t2 = System.nanoTime();
+            if (legacy != table) throw new IllegalStateException();
+            System.out.printf("раунд %d: indexOf %5.2f нс/літеру, таблиця %5.2f нс/літеру (приголосних %d)%n",
+                    round, (t1 - t0) / (double) letters.length, (t2 - t1) / (double) letters.length, table);
+        }
+    }
+
+    /** Попередня реалізація {@link Laba2#isConsonant}. */
+    private static boolean legacyIsConsonant(int codePoint) {
+        if (!Character.isLetter(codePoint)) return false;
+        return VowelTable.UKRAINIAN_ENGLISH.indexOf(Character.toLowerCase(codePoint)) < 0;
+    }
+
+    /** Перші літери слів: переважно кирилиця й латиниця в обох регістрах, трохи інших символів. */
+    private static int[] sample(int n, long seed) {
+        String alphabet = "абвгґдеєжзиіїйклмнопрстуфхцчшщьюяАБВГҐДЕЄЖЗИІЇЙКЛМНОПРСТУФХЦЧШЩЮЯ"
+                + "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789αβγ";
+        int[] cps = alphabet.codePoints().toArray();
+        java.util.SplittableRandom rnd = new java.util.SplittableRandom(seed);
+        int[] res = new int[n];
+        for (int i = 0; i < n; i++) res[i] = cps[rnd.nextInt(cps.length)];
+        return res;
     }
 }
@@ -1,11 +1,21 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Scanner;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.stream.IntStream;
 
 /**
  * ЛР4:
@@ -13,7 +23,7 @@ import java.util.regex.Pattern;
  *
  * ООП-модель:
  *  - Letter     — літера (Unicode code point)
- *  - Word       — слово як масив літер
+ *  - Word       — слово як послідовність літер (компактно, одним рядком)
  *  - Punctuation— розділовий знак/несловесний токен
  *  - Token      — спільний інтерфейс для Word/Punctuation
  *  - Sentence   — масив токенів (склеює текст із «розумними» пробілами)
@@ -29,8 +39,37 @@ public final class Laba4 {
 
     private Laba4() { }
 
+    /**
+     * Без аргументів — інтерактивний режим {@link #run()};
+     * {@code <довжина> <вхідний файл> <вихідний файл>} — пакетна обробка файлу (UTF-8).
+     */
     public static void main(String[] args) {
-        run();
+        if (args.length == 3) {
+            runFile(args[0], java.nio.file.Path.of(args[1]), java.nio.file.Path.of(args[2]));
+        } else {
+            run();
+        }
+    }
+
+    /**
+     * Пакетний режим: вхід відображається в пам’ять ({@link MappedTextFiles}), текст
+     * розбирається потоково по реченнях, результат пишеться у файл.
+     */
+    static void runFile(String lenRaw, java.nio.file.Path input, java.nio.file.Path output) {
+        try {
+            final int targetLen = Integer.parseInt(lenRaw.trim());
+            if (targetLen <= 0) throw new IllegalArgumentException("Довжина має бути > 0");
+            final Sentence.PredicateWord predicate =
+                    word -> word.startsWithConsonant() && word.lengthByCodePoints() == targetLen;
+            System.out.println(MappedTextFiles.process(input, output,
+                    (in, out) -> Text.removeWordsBy(in, out, predicate)));
+        } catch (NumberFormatException e) {
+            System.err.println("Помилка: довжина має бути цілим числом.");
+        } catch (IllegalArgumentException e) {
+            System.err.println("Помилка вхідних даних: " + e.getMessage());
+        } catch (IOException e) {
+            System.err.println("Помилка файлу: " + e.getMessage());
+        }
     }
 
     /**
@@ -92,24 +131,28 @@ interface Token {
     Token toLowerCase();
     Token replace(String target, String replacement);
     default boolean isWord() { return false; }
+    /** Відкривальна дужка/лапка: після неї пробіл не ставиться. */
+    default boolean isOpening() { return Punctuation.isOpening(asString()); }
+    /** Закривальний або розділовий знак: перед ним пробіл не ставиться. */
+    default boolean isClosingOrPunct() { return Punctuation.isClosingOrPunct(asString()); }
 }
 
 /** Літера. Підтримує операції регістру та перевірки */
 final class Letter {
     private final int codePoint;
-    private static final String VOWELS = "аеєиіїоуюяaeiou";
 
     Letter(int codePoint) { this.codePoint = codePoint; }
     int codePoint() { return codePoint; }
     boolean isLetter() { return Character.isLetter(codePoint); }
-    boolean isVowel() {
-        if (!isLetter()) return false;
-        int lower = Character.toLowerCase(codePoint);
-        return VOWELS.indexOf(lower) >= 0;
-    }
-    boolean isConsonant() { return isLetter() && !isVowel(); }
-    Letter toUpperCase() { return new Letter(Character.toUpperCase(codePoint)); }
-    Letter toLowerCase() { return new Letter(Character.toLowerCase(codePoint)); }
+    boolean isVowel() { return isVowel(codePoint); }
+    boolean isConsonant() { return isConsonant(codePoint); }
+    /** Чи є кодова точка голосною літерою (без створення {@code Letter}). */
+    static boolean isVowel(int codePoint) { return VowelTable.DEFAULT.isVowel(codePoint); }
+    /** Чи є кодова точка приголосною літерою (без створення {@code Letter}). */
+    static boolean isConsonant(int codePoint) { return VowelTable.DEFAULT.isConsonant(codePoint); }
+    Letter toUpperCase() { return withCodePoint(Character.toUpperCase(codePoint)); }
+    Letter toLowerCase() { return withCodePoint(Character.toLowerCase(codePoint)); }
+    private Letter withCodePoint(int cp) { return cp == codePoint ? this : new Letter(cp); }
     @Override public String toString() { return new String(Character.toChars(codePoint)); }
     @Override public boolean equals(Object o) {
         if (this == o) return true;
@@ -123,16 +166,44 @@ final class Letter {
 /** Розділовий знак або будь-який несловесний символ */
 final class Punctuation implements Token {
     private final String symbol;
-    Punctuation(String symbol) { this.symbol = symbol; }
+    /** Класифікація символу, обчислена один раз при створенні. */
+    private final boolean opening;
+    private final boolean closingOrPunct;
+    private final boolean terminator;
+    Punctuation(String symbol) {
+        this.symbol = symbol;
+        this.opening = isOpening(symbol);
+        this.closingOrPunct = isClosingOrPunct(symbol);
+        this.terminator = allCharsIn(symbol, ".!?");
+    }
+    /** Рівно один символ з {@code ( [ « " “}. */
+    static boolean isOpening(String s) {
+        return s.length() == 1 && "([«\"“".indexOf(s.charAt(0)) >= 0;
+    }
+    /** Непорожня серія символів з {@code , . ! ? : ; ) ] » " ”}. */
+    static boolean isClosingOrPunct(String s) {
+        return allCharsIn(s, ",.!?:;)]»\"”");
+    }
+    private static boolean allCharsIn(String s, String set) {
+        if (s.isEmpty()) return false;
+        for (int i = 0; i < s.length(); i++) {
+            if (set.indexOf(s.charAt(i)) < 0) return false;
+        }
+        return true;
+    }
+    @Override public boolean isOpening() { return opening; }
+    @Override public boolean isClosingOrPunct() { return closingOrPunct; }
     String symbol() { return symbol; }
     @Override public String asString() { return symbol; }
     @Override public Token toUpperCase() { return this; }
     @Override public Token toLowerCase() { return this; }
     @Override public Token replace(String target, String replacement) {
-        if (target == null || target.isEmpty()) return this;
+        if (target == null || target.isEmpty() || !symbol.contains(target)) return this;
         return new Punctuation(symbol.replace(target, replacement));
     }
-    boolean isSentenceTerminator() { return symbol.matches("[.!?]+"); }
+    boolean isSentenceTerminator() { return terminator; }
+    /** Символ, з якого складаються кінці речень: {@code . ! ?}. */
+    static boolean isTerminatorChar(char c) { return c == '.' || c == '!' || c == '?'; }
     @Override public String toString() { return symbol; }
     @Override public boolean equals(Object o) {
         if (this == o) return true;
@@ -143,95 +214,165 @@ final class Punctuation implements Token {
     @Override public int hashCode() { return Objects.hash(symbol); }
 }
 
-/** Слово як масив літер */
+/**
+ * Слово як послідовність літер. Зберігається компактно — одним рядком і кількістю
+ * кодових точок, а об’єкти {@link Letter} створюються лише на запит {@link #letters()}.
+ */
 final class Word implements Token {
-    private final List<Letter> letters;
-    Word(List<Letter> letters) { this.letters = List.copyOf(letters); }
-    static Word of(String raw) {
-        List<Letter> list = new ArrayList<>();
-        raw.codePoints().forEach(cp -> list.add(new Letter(cp)));
-        return new Word(list);
-    }
-    int lengthByCodePoints() { return letters.size(); }
-    boolean startsWithConsonant() { return !letters.isEmpty() && letters.get(0).isConsonant(); }
-    @Override public String asString() {
+    private final String text;
+    private final int codePoints;
+    Word(List<Letter> letters) {
         StringBuilder sb = new StringBuilder(letters.size());
-        for (Letter l : letters) sb.append(l.toString());
-        return sb.toString();
+        for (Letter l : letters) sb.appendCodePoint(l.codePoint());
+        this.text = sb.toString();
+        this.codePoints = letters.size();
+    }
+    private Word(String text) {
+        this.text = text;
+        this.codePoints = text.codePointCount(0, text.length());
     }
-    @Override public Token toUpperCase() {
-        List<Letter> up = new ArrayList<>(letters.size());
-        for (Letter l : letters) up.add(l.toUpperCase());
-        return new Word(up);
+    static Word of(String raw) { return new Word(raw); }
+    /** Літери слова (нова копія). */
+    List<Letter> letters() {
+        List<Letter> list = new ArrayList<>(codePoints);
+        text.codePoints().forEach(cp -> list.add(new Letter(cp)));
+        return list;
     }
-    @Override public Token toLowerCase() {
-        List<Letter> low = new ArrayList<>(letters.size());
-        for (Letter l : letters) low.add(l.toLowerCase());
-        return new Word(low);
+    int lengthByCodePoints() { return codePoints; }
+    boolean startsWithConsonant() { return !text.isEmpty() && Letter.isConsonant(text.codePointAt(0)); }
+    @Override public String asString() { return text; }
+    @Override public Token toUpperCase() { return mapCodePoints(true); }
+    @Override public Token toLowerCase() { return mapCodePoints(false); }
+    /**
+     * Посимвольна зміна регістру (як {@link Letter#toUpperCase()}/{@link Letter#toLowerCase()}).
+     * Якщо жодна кодова точка не змінюється, повертає {@code this}.
+     */
+    private Word mapCodePoints(boolean upper) {
+        StringBuilder sb = null;
+        for (int i = 0; i < text.length(); ) {
+            int cp = text.codePointAt(i);
+            int mapped = upper ? Character.toUpperCase(cp) : Character.toLowerCase(cp);
+            if (sb == null && mapped != cp) {
+                sb = new StringBuilder(text.length());
+                sb.append(text, 0, i);
+            }
+            if (sb != null) sb.appendCodePoint(mapped);
+            i += Character.charCount(cp);
+        }
+        return sb == null ? this : new Word(sb.toString());
     }
     @Override public Token replace(String target, String replacement) {
-        if (target == null || target.isEmpty()) return this;
-        return Word.of(asString().replace(target, replacement));
+        if (target == null || target.isEmpty() || !text.contains(target)) return this;
+        return Word.of(text.replace(target, replacement));
     }
     @Override public boolean isWord() { return true; }
-    @Override public String toString() { return asString(); }
+    @Override public String toString() { return text; }
     @Override public boolean equals(Object o) {
         if (this == o) return true;
         if (!(o instanceof Word)) return false;
         Word word = (Word) o;
-        return Objects.equals(letters, word.letters);
+        return text.equals(word.text);
     }
-    @Override public int hashCode() { return Objects.hash(letters); }
+    @Override public int hashCode() { return text.hashCode(); }
 }
 
-/** Речення: послідовність токенів; відповідає за «розумні» пробіли */
+/**
+ * Речення: послідовність токенів; відповідає за «розумні» пробіли.
+ * Речення незмінне: перетворення повертають нове речення або саме це, якщо жоден
+ * токен не змінився, тож його можна ділити між текстами без копіювання.
+ */
 final class Sentence {
-    private final List<Token> tokens;
-    Sentence(List<Token> tokens) { this.tokens = new ArrayList<>(tokens); }
-    List<Token> tokens() { return new ArrayList<>(tokens); }
-    int removeWordsBy(PredicateWord predicate) {
-        int removed = 0;
-        Iterator<Token> it = tokens.iterator();
-        while (it.hasNext()) {
-            Token t = it.next();
+    private static final Token[] NO_TOKENS = new Token[0];
+    private final Token[] tokens;
+    Sentence(List<Token> tokens) { this.tokens = tokens.toArray(NO_TOKENS); }
+    private Sentence(Token[] tokens) { this.tokens = tokens; }
+    List<Token> tokens() { return new ArrayList<>(Arrays.asList(tokens)); }
+    int size() { return tokens.length; }
+    Token token(int i) { return tokens[i]; }
+    /** Чи закінчується речення знаком {@code . ! ?} (останнє речення тексту може бути без нього). */
+    boolean isTerminated() {
+        return tokens.length > 0 && tokens[tokens.length - 1] instanceof Punctuation p && p.isSentenceTerminator();
+    }
+    /** Речення без слів за умовою; якщо нічого не видалено — це саме речення. */
+    Sentence withoutWords(PredicateWord predicate) {
+        Token[] kept = filter(predicate);
+        return kept == tokens ? this : new Sentence(kept);
+    }
+    /** Речення без токенів на позиціях {@code positions[0..count)} (зростаючих). */
+    Sentence withoutTokensAt(int[] positions, int count) {
+        if (count == 0) return this;
+        Token[] kept = new Token[tokens.length - count];
+        int n = 0;
+        int k = 0;
+        for (int i = 0; i < tokens.length; i++) {
+            if (k < count && positions[k] == i) k++;
+            else kept[n++] = tokens[i];
+        }
+        return new Sentence(kept);
+    }
+    private Token[] filter(PredicateWord predicate) {
+        Token[] kept = null;
+        int n = 0;
+        for (int i = 0; i < tokens.length; i++) {
+            Token t = tokens[i];
             if (t.isWord() && predicate.test((Word) t)) {
-                it.remove();
-                removed++;
+                if (kept == null) {
+                    kept = new Token[tokens.length - 1];
+                    System.arraycopy(tokens, 0, kept, 0, i);
+                    n = i;
+                }
+            } else if (kept != null) {
+                kept[n++] = t;
             }
         }
-        return removed;
+        return kept == null ? tokens : Arrays.copyOf(kept, n);
     }
-    Sentence toUpperCase() {
-        List<Token> res = new ArrayList<>(tokens.size());
-        for (Token t : tokens) res.add(t.toUpperCase());
-        return new Sentence(res);
+    Sentence toUpperCase() { return mapShared(Token::toUpperCase); }
+    Sentence toLowerCase() { return mapShared(Token::toLowerCase); }
+    Sentence replace(String target, String replacement) {
+        return mapShared(t -> t.replace(target, replacement));
     }
-    Sentence toLowerCase() {
-        List<Token> res = new ArrayList<>(tokens.size());
-        for (Token t : tokens) res.add(t.toLowerCase());
-        return new Sentence(res);
+    /** Застосовує перетворення до кожного токена; повертає {@code this}, якщо жоден токен не змінився. */
+    Sentence mapShared(java.util.function.UnaryOperator<Token> op) {
+        Token[] res = map(op);
+        return res == tokens ? this : new Sentence(res);
     }
-    Sentence replace(String target, String replacement) {
-        List<Token> res = new ArrayList<>(tokens.size());
-        for (Token t : tokens) res.add(t.replace(target, replacement));
-        return new Sentence(res);
+    /** Новий масив лише з першого зміненого токена; інакше — той самий масив. */
+    private Token[] map(java.util.function.UnaryOperator<Token> op) {
+        Token[] res = null;
+        for (int i = 0; i < tokens.length; i++) {
+            Token t = op.apply(tokens[i]);
+            if (res == null && t != tokens[i]) res = Arrays.copyOf(tokens, tokens.length);
+            if (res != null) res[i] = t;
+        }
+        return res == null ? tokens : res;
     }
-    @Override public String toString() {
-        StringBuilder sb = new StringBuilder();
+
+    /** Верхня оцінка довжини рядка речення (токени + пробіли між ними). */
+    int renderedLengthHint() {
+        int n = tokens.length;
+        for (Token t : tokens) n += t.asString().length();
+        return n;
+    }
+    /**
+     * Дописує речення в {@code out} з «розумними» пробілами: пробіл ставиться між токенами,
+     * крім позиції після відкривальної дужки/лапки та перед закривальним/розділовим знаком.
+     */
+    void appendTo(Appendable out) throws IOException {
         Token prev = null;
         for (Token cur : tokens) {
-            String s = cur.asString();
-            boolean needSpace = false;
-            if (prev != null) {
-                String p = prev.asString();
-                boolean prevIsOpen = p.matches("[\\(\\[«\"“]");
-                boolean curIsCloseOrPunct = s.matches("[,\\.!\\?:;\\)\\]»\"”]+");
-                if (!prevIsOpen && !curIsCloseOrPunct) needSpace = true;
-            }
-            if (needSpace) sb.append(' ');
-            sb.append(s);
+            if (prev != null && !prev.isOpening() && !cur.isClosingOrPunct()) out.append(' ');
+            out.append(cur.asString());
             prev = cur;
         }
+    }
+    @Override public String toString() {
+        StringBuilder sb = new StringBuilder(renderedLengthHint());
+        try {
+            appendTo(sb);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // StringBuilder не кидає IOException
+        }
         return sb.toString();
     }
     @FunctionalInterface interface PredicateWord { boolean test(Word word); }
@@ -239,23 +380,54 @@ final class Sentence {
         if (this == o) return true;
         if (!(o instanceof Sentence)) return false;
         Sentence sentence = (Sentence) o;
-        return Objects.equals(tokens, sentence.tokens);
+        return Arrays.equals(tokens, sentence.tokens);
     }
-    @Override public int hashCode() { return Objects.hash(tokens); }
+    @Override public int hashCode() { return Arrays.hashCode(tokens); }
 }
 
-/** Текст як масив речень, з парсером і нормалізацією пробілів/табів */
+/**
+ * Текст як масив речень, з парсером і нормалізацією пробілів/табів.
+ *
+ * <p>Речення зберігаються блоками по {@link #BLOCK}. Блоки й речення в них не змінюються
+ * на місці, тож перетворення ({@link #toUpperCase()}, {@link #replace} тощо) копіюють лише
+ * блоки зі зміненими реченнями, а незмінені речення й токени ділять із початковим текстом:
+ * ланцюжок перетворень виділяє пам’ять пропорційно змінам, а не розміру документа.
+ */
 final class Text {
-    private final List<Sentence> sentences;
-    private static final Pattern WORD = Pattern.compile(
-            "\\b\\p{L}+(?:['’]\\p{L}+)*\\b",
-            Pattern.UNICODE_CHARACTER_CLASS
-    );
-    private static final Pattern PUNCT = Pattern.compile("[,\\.\\!\\?\\:\\;\\-\\(\\)\\[\\]«»\"“”]+");
-    private static final Pattern SPACE = Pattern.compile("\\s+");
+    /** Менше речень обробляються послідовно: накладні витрати fork/join не окупаються. */
+    private static final int PARALLEL_THRESHOLD = 1 << 10;
+    /** Мінімальний фрагмент паралельного парсингу, символів. */
+    private static final int MIN_PARSE_CHUNK = 1 << 16;
+
+    /** Речень у блоці. */
+    private static final int BLOCK = 1 << 8;
+
+    /** Масив блоків належить лише цьому тексту; самі блоки можуть бути спільними. */
+    private final Sentence[][] blocks;
+    private final int size;
+    /** Лічильник видалень — для виявлення застарілого {@link WordIndex}. */
+    private int modCount;
+
+    /** Текст із речень (вони незмінні, тож діляться без копіювання); список не запам’ятовується. */
+    Text(List<Sentence> sentences) {
+        this.size = sentences.size();
+        this.blocks = new Sentence[(size + BLOCK - 1) / BLOCK][];
+        for (int b = 0; b < blocks.length; b++) {
+            blocks[b] = sentences.subList(b * BLOCK, Math.min(size, (b + 1) * BLOCK)).toArray(new Sentence[0]);
+        }
+    }
+
+    private Text(Sentence[][] blocks, int size) {
+        this.blocks = blocks;
+        this.size = size;
+    }
 
-    Text(List<Sentence> sentences) { this.sentences = new ArrayList<>(sentences); }
-    List<Sentence> sentences() { return new ArrayList<>(sentences); }
+    /** Речення тексту (новий список; самі речення незмінні). */
+    List<Sentence> sentences() {
+        List<Sentence> res = new ArrayList<>(size);
+        for (Sentence[] block : blocks) res.addAll(Arrays.asList(block));
+        return res;
+    }
 
     static String normalizeWhitespace(String raw) {
         return raw.replaceAll("[\\t ]+", " ")
@@ -263,16 +435,888 @@ final class Text {
                   .strip();
     }
 
+    /**
+     * Однопрохідний аналог {@link #normalizeWhitespace} у вигляді {@link Appendable}:
+     * серії {@code [\t ]} стискаються до одного пробілу, перед кінцем рядка
+     * ({@code \n \r \u0085 \u2028 \u2029}) прибираються, пробільні символи на початку
+     * та в кінці відкидаються. Буферизується лише поточна серія пробільних символів,
+     * тож результат можна писати одразу у {@link Writer}. Після останнього запису
+     * треба викликати {@link #finish()}.
+     */
+    static final class WhitespaceNormalizer implements Appendable {
+        private final Appendable out;
+        private final StringBuilder pending = new StringBuilder();
+        private boolean started;
+        private long rawLength;
+
+        WhitespaceNormalizer(Appendable out) { this.out = out; }
+
+        /** Кількість символів, переданих на вхід (до нормалізації). */
+        long rawLength() { return rawLength; }
+
+        @Override public WhitespaceNormalizer append(CharSequence csq) throws IOException {
+            if (csq == null) csq = "null";
+            return append(csq, 0, csq.length());
+        }
+
+        @Override public WhitespaceNormalizer append(CharSequence csq, int start, int end) throws IOException {
+            if (csq == null) csq = "null";
+            rawLength += end - start;
+            int i = start;
+            while (i < end) {
+                char c = csq.charAt(i);
+                if (Character.isWhitespace(c)) {
+                    if (started) pending.append(c);
+                    i++;
+                    continue;
+                }
+                int j = i + 1;
+                while (j < end && !Character.isWhitespace(csq.charAt(j))) j++;
+                flushPending(c);
+                started = true;
+                out.append(csq, i, j);
+                i = j;
+            }
+            return this;
+        }
+
+        @Override public WhitespaceNormalizer append(char c) throws IOException {
+            rawLength++;
+            if (Character.isWhitespace(c)) {
+                if (started) pending.append(c);
+            } else {
+                flushPending(c);
+                started = true;
+                out.append(c);
+            }
+            return this;
+        }
+
+        /** Відкидає пробільні символи в кінці (аналог {@code strip()}). */
+        void finish() { pending.setLength(0); }
+
+        private void flushPending(char next) throws IOException {
+            int n = pending.length();
+            int i = 0;
+            while (i < n) {
+                char c = pending.charAt(i);
+                if (c != ' ' && c != '\t') {
+                    out.append(c);
+                    i++;
+                    continue;
+                }
+                int j = i + 1;
+                while (j < n && (pending.charAt(j) == ' ' || pending.charAt(j) == '\t')) j++;
+                char after = j < n ? pending.charAt(j) : next;
+                if (!isLineTerminator(after)) out.append(' ');
+                i = j;
+            }
+            pending.setLength(0);
+        }
+
+        private static boolean isLineTerminator(char c) {
+            return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+        }
+    }
+
+    /**
+     * Розбирає текст на речення та токени за один прохід {@link TextScanner}
+     * (лінійний час; результат збігається з нормалізацією {@link #normalizeWhitespace}
+     * та пошуком WORD/PUNCT/SPACE, на яких парсер був побудований раніше).
+     */
     static Text parse(String raw) {
-        String src = normalizeWhitespace(raw);
+        List<Sentence> res = new ArrayList<>();
+        TextScanner.SentenceAssembler assembler = new TextScanner.SentenceAssembler(res::add);
+        TextScanner.scan(raw, assembler);
+        assembler.finish();
+        return new Text(res);
+    }
+
+    /**
+     * Паралельний варіант {@link #parse}: текст ріжеться на фрагменти після кінця речення
+     * (безпечний розріз {@link TextScanner#isSafeCut} одразу після {@code . ! ?}), фрагменти
+     * скануються в спільному {@link java.util.concurrent.ForkJoinPool}, а речення
+     * склеюються в початковому порядку. Результат збігається з {@link #parse}: речення,
+     * яке все ж перетнуло розріз, зшивається з початком наступного фрагмента.
+     */
+    static Text parseParallel(String raw) {
+        int[] cuts = parseCuts(raw);
+        if (cuts.length <= 2) return parse(raw);
+        int last = cuts.length - 2;
+        List<List<Sentence>> parts = IntStream.rangeClosed(0, last).parallel()
+                .mapToObj(i -> {
+                    List<Sentence> part = new ArrayList<>();
+                    TextScanner.SentenceAssembler assembler = new TextScanner.SentenceAssembler(part::add);
+                    TextScanner.scan(raw, cuts[i], cuts[i + 1], i == 0, i == last, assembler);
+                    assembler.finish();
+                    return part;
+                })
+                .toList();
+        List<Sentence> res = new ArrayList<>();
+        List<Token> carry = null;
+        for (List<Sentence> part : parts) {
+            for (Sentence s : part) {
+                if (carry != null) {
+                    carry.addAll(s.tokens());
+                    s = new Sentence(carry);
+                    carry = null;
+                }
+                if (s.isTerminated()) res.add(s);
+                else carry = s.tokens();
+            }
+        }
+        if (carry != null) res.add(new Sentence(carry));
+        return new Text(res);
+    }
+
+    /** Межі фрагментів {@code [cuts[i]; cuts[i+1])} для {@link #parseParallel}. */
+    private static int[] parseCuts(String raw) {
+        int n = raw.length();
+        int parts = Math.min(n / MIN_PARSE_CHUNK, 4 * java.util.concurrent.ForkJoinPool.getCommonPoolParallelism());
+        if (parts < 2) return new int[]{0, n};
+        int step = n / parts;
+        int[] cuts = new int[parts + 1];
+        int k = 1;
+        int from = 0;
+        for (int i = 1; i < parts; i++) {
+            // перший розріз після кінця речення, інакше — перший безпечний розріз
+            int hi = Math.min(n - 1, (i + 1) * step);
+            int cut = -1;
+            for (int p = Math.max(from, i * step); p < hi; p++) {
+                if (!TextScanner.isSafeCut(raw, p)) continue;
+                if (cut < 0) cut = p;
+                if (p > 0 && Punctuation.isTerminatorChar(raw.charAt(p - 1))) {
+                    cut = p;
+                    break;
+                }
+            }
+            if (cut < 0) continue;
+            from = cut + 1;
+            cuts[k++] = from;
+        }
+        cuts[k++] = n;
+        return Arrays.copyOf(cuts, k);
+    }
+
+    /**
+     * Потоково видаляє слова за умовою: читає текст із {@code in} по реченнях
+     * ({@link SentenceReader}), застосовує {@link Sentence#withoutWords} до кожного
+     * і одразу пише результат у {@code out}. Пам’ять обмежена буфером читання та
+     * найдовшим реченням, а не розміром документа. Вивід збігається з {@link #toString()}
+     * для того самого тексту. Потоки не закриваються.
+     *
+     * @return кількість видалених слів
+     * @throws IOException якщо читання або запис не вдалися
+     */
+    static long removeWordsBy(Reader in, Writer out, Sentence.PredicateWord predicate) throws IOException {
+        long removed = 0;
+        WhitespaceNormalizer norm = new WhitespaceNormalizer(out);
+        SentenceReader sentences = new SentenceReader(in);
+        try {
+            while (sentences.hasNext()) {
+                Sentence s = sentences.next();
+                Sentence kept = s.withoutWords(predicate);
+                removed += s.size() - kept.size();
+                if (norm.rawLength() > 0) norm.append(' ');
+                kept.appendTo(norm);
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        norm.finish();
+        out.flush();
+        return removed;
+    }
+
+    int removeWordsBy(Sentence.PredicateWord predicate) {
+        long total = 0;
+        for (int b = 0; b < blocks.length; b++) total += removeInBlock(b, predicate);
+        if (total > 0) modCount++;
+        return (int) total;
+    }
+
+    /**
+     * Паралельний {@link #removeWordsBy(Sentence.PredicateWord)}: речення незалежні, тож
+     * блоки обробляються окремими підзадачами, а лічильники точно сумуються.
+     * Умова має бути безпечною для виклику з кількох потоків.
+     */
+    long removeWordsByParallel(Sentence.PredicateWord predicate) {
+        long total = blockIndexes(true).mapToLong(b -> removeInBlock(b, predicate)).sum();
+        if (total > 0) modCount++;
+        return total;
+    }
+
+    /** Кількість речень. */
+    int size() { return size; }
+
+    /** Речення за індексом. */
+    Sentence sentence(int i) { return blocks[i / BLOCK][i % BLOCK]; }
+
+    int modCount() { return modCount; }
+
+    /**
+     * Замінює речення на позиціях {@code indexes[0..count)} (зростаючих); кожен зачеплений
+     * блок копіюється один раз, тож інші тексти зі спільними блоками не змінюються.
+     */
+    void replaceSentences(int[] indexes, Sentence[] replacements, int count) {
+        int b = -1;
+        Sentence[] copy = null;
+        for (int k = 0; k < count; k++) {
+            int nb = indexes[k] / BLOCK;
+            if (nb != b) {
+                if (copy != null) blocks[b] = copy;
+                b = nb;
+                copy = blocks[b].clone();
+            }
+            copy[indexes[k] % BLOCK] = replacements[k];
+        }
+        if (copy != null) blocks[b] = copy;
+        if (count > 0) modCount++;
+    }
+
+    /** Індекс слів за довжиною та першою літерою (див. {@link WordIndex}). */
+    WordIndex index() { return new WordIndex(this); }
+
+    /** Замінює блок копією лише тоді, коли в ньому щось видалено. */
+    private long removeInBlock(int b, Sentence.PredicateWord predicate) {
+        Sentence[] block = blocks[b];
+        Sentence[] copy = null;
+        long removed = 0;
+        for (int i = 0; i < block.length; i++) {
+            Sentence s = block[i];
+            Sentence r = s.withoutWords(predicate);
+            if (r == s) continue;
+            removed += s.size() - r.size();
+            if (copy == null) copy = block.clone();
+            copy[i] = r;
+        }
+        if (copy != null) blocks[b] = copy;
+        return removed;
+    }
+
+    Text toUpperCase() { return map(Token::toUpperCase, false); }
+
+    Text toLowerCase() { return map(Token::toLowerCase, false); }
+
+    Text replace(String target, String replacement) { return map(t -> t.replace(target, replacement), false); }
+
+    /** Паралельний {@link #toUpperCase()}; порядок речень зберігається. */
+    Text toUpperCaseParallel() { return map(Token::toUpperCase, true); }
+
+    /** Паралельний {@link #toLowerCase()}; порядок речень зберігається. */
+    Text toLowerCaseParallel() { return map(Token::toLowerCase, true); }
+
+    /** Паралельний {@link #replace}; порядок речень зберігається. */
+    Text replaceParallel(String target, String replacement) {
+        return map(t -> t.replace(target, replacement), true);
+    }
+
+    /** Новий текст, що ділить з цим усі блоки, де жоден токен не змінився. */
+    private Text map(java.util.function.UnaryOperator<Token> op, boolean parallel) {
+        Sentence[][] res = new Sentence[blocks.length][];
+        blockIndexes(parallel).forEach(b -> {
+            Sentence[] block = blocks[b];
+            Sentence[] copy = null;
+            for (int i = 0; i < block.length; i++) {
+                Sentence r = block[i].mapShared(op);
+                if (r == block[i]) continue;
+                if (copy == null) copy = block.clone();
+                copy[i] = r;
+            }
+            res[b] = copy == null ? block : copy;
+        });
+        return new Text(res, size);
+    }
+
+    /** Індекси блоків: паралельний потік для великих текстів, послідовний — для малих. */
+    private IntStream blockIndexes(boolean parallel) {
+        IntStream indexes = IntStream.range(0, blocks.length);
+        return parallel && size >= PARALLEL_THRESHOLD ? indexes.parallel() : indexes;
+    }
+
+    /** Дописує нормалізований текст у {@code out} без проміжного рядка. */
+    void appendTo(Appendable out) throws IOException {
+        WhitespaceNormalizer norm = new WhitespaceNormalizer(out);
+        for (Sentence[] block : blocks) {
+            for (Sentence s : block) {
+                if (norm.rawLength() > 0) norm.append(' ');
+                s.appendTo(norm);
+            }
+        }
+        norm.finish();
+    }
+
+    @Override public String toString() {
+        int hint = 0;
+        for (Sentence[] block : blocks) {
+            for (Sentence s : block) hint += s.renderedLengthHint() + 1;
+        }
+        StringBuilder sb = new StringBuilder(hint);
+        try {
+            appendTo(sb);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return sb.toString();
+    }
+}
+
+/**
+ * Індекс слів {@link Text} для повторюваних запитів «слова довжини N, що починаються з
+ * голосної/приголосної». Будується один раз за прохід по тексту: слова розкладаються по
+ * кошиках (довжина в кодових точках, клас першої літери) з позиціями в тексті.
+ * Підрахунок, перелік і видалення торкаються лише відповідного кошика та речень,
+ * де є ці слова.
+ *
+ * <p>Видалення через індекс оновлює і текст, і позиції решти слів. Якщо текст змінено
+ * в обхід індексу, наступний виклик кидає {@link java.util.ConcurrentModificationException}.
+ */
+final class WordIndex {
+
+    /** Клас першої кодової точки слова. */
+    enum FirstLetter {
+        VOWEL, CONSONANT, OTHER;
+
+        static FirstLetter of(Word w) {
+            String s = w.asString();
+            if (s.isEmpty()) return OTHER;
+            int cp = s.codePointAt(0);
+            if (Letter.isVowel(cp)) return VOWEL;
+            return Letter.isConsonant(cp) ? CONSONANT : OTHER;
+        }
+    }
+
+    /** Позиція слова: індекс речення та токена в ньому. */
+    record Position(int sentence, int token) { }
+
+    private static final int CLASSES = FirstLetter.values().length;
+
+    private final Text text;
+    private int expectedModCount;
+    /** Слова нумеруються в порядку тексту; слова речення {@code s} — {@code [firstId[s]; firstId[s+1])}. */
+    private final int[] firstId;
+    private final int[] sentenceOf;
+    /** Поточний індекс токена слова в реченні або -1, якщо слово видалено. */
+    private final int[] tokenOf;
+    /** Кошики за ключем {@link #key}. */
+    private final java.util.Map<Integer, Bucket> buckets = new java.util.HashMap<>();
+
+    /** Ідентифікатори слів кошика у зростаючому порядку. */
+    private static final class Bucket {
+        int[] ids = new int[4];
+        int size;
+
+        void add(int id) {
+            if (size == ids.length) ids = Arrays.copyOf(ids, size * 2);
+            ids[size++] = id;
+        }
+    }
+
+    WordIndex(Text text) {
+        this.text = text;
+        this.expectedModCount = text.modCount();
+        int sentences = text.size();
+        firstId = new int[sentences + 1];
+        int words = 0;
+        for (int s = 0; s < sentences; s++) {
+            firstId[s] = words;
+            Sentence sentence = text.sentence(s);
+            for (int i = 0; i < sentence.size(); i++) {
+                if (sentence.token(i).isWord()) words++;
+            }
+        }
+        firstId[sentences] = words;
+        sentenceOf = new int[words];
+        tokenOf = new int[words];
+        int id = 0;
+        for (int s = 0; s < sentences; s++) {
+            Sentence sentence = text.sentence(s);
+            for (int i = 0; i < sentence.size(); i++) {
+                if (!(sentence.token(i) instanceof Word w)) continue;
+                sentenceOf[id] = s;
+                tokenOf[id] = i;
+                buckets.computeIfAbsent(key(w.lengthByCodePoints(), FirstLetter.of(w)), k -> new Bucket()).add(id++);
+            }
+        }
+    }
+
+    private static int key(int length, FirstLetter first) {
+        return length * CLASSES + first.ordinal();
+    }
+
+    /** Кількість слів довжини {@code length} з першою літерою класу {@code first}. */
+    int count(int length, FirstLetter first) {
+        Bucket b = bucket(length, first);
+        return b == null ? 0 : b.size;
+    }
+
+    /** Слова кошика в порядку тексту. */
+    List<Word> words(int length, FirstLetter first) {
+        Bucket b = bucket(length, first);
+        if (b == null) return new ArrayList<>();
+        List<Word> res = new ArrayList<>(b.size);
+        for (int k = 0; k < b.size; k++) {
+            int id = b.ids[k];
+            res.add((Word) text.sentence(sentenceOf[id]).token(tokenOf[id]));
+        }
+        return res;
+    }
+
+    /** Позиції слів кошика в порядку тексту. */
+    List<Position> positions(int length, FirstLetter first) {
+        Bucket b = bucket(length, first);
+        if (b == null) return new ArrayList<>();
+        List<Position> res = new ArrayList<>(b.size);
+        for (int k = 0; k < b.size; k++) res.add(new Position(sentenceOf[b.ids[k]], tokenOf[b.ids[k]]));
+        return res;
+    }
+
+    /**
+     * Видаляє з тексту всі слова кошика; змінюються лише речення з цими словами.
+     *
+     * @return кількість видалених слів
+     */
+    int remove(int length, FirstLetter first) {
+        checkForComodification();
+        Bucket b = buckets.remove(key(length, first));
+        if (b == null) return 0;
+        int[] ids = b.ids;
+        int n = b.size;
+        int[] sentences = new int[n];
+        Sentence[] replacements = new Sentence[n];
+        int changed = 0;
+        int[] removedTokens = new int[n];
+        for (int i = 0; i < n; ) {
+            int s = sentenceOf[ids[i]];
+            int j = i;
+            while (j < n && sentenceOf[ids[j]] == s) {
+                removedTokens[j - i] = tokenOf[ids[j]];
+                tokenOf[ids[j]] = -1;
+                j++;
+            }
+            replacements[changed] = text.sentence(s).withoutTokensAt(removedTokens, j - i);
+            sentences[changed++] = s;
+            shiftPositions(s, removedTokens, j - i);
+            i = j;
+        }
+        text.replaceSentences(sentences, replacements, changed);
+        expectedModCount = text.modCount();
+        return n;
+    }
+
+    /** Зсуває позиції решти слів речення {@code s} після видалення токенів {@code removed[0..count)}. */
+    private void shiftPositions(int s, int[] removed, int count) {
+        int k = 0;
+        for (int id = firstId[s]; id < firstId[s + 1]; id++) {
+            int pos = tokenOf[id];
+            if (pos < 0) continue;
+            while (k < count && removed[k] < pos) k++;
+            tokenOf[id] = pos - k;
+        }
+    }
+
+    private Bucket bucket(int length, FirstLetter first) {
+        checkForComodification();
+        return buckets.get(key(length, first));
+    }
+
+    private void checkForComodification() {
+        if (text.modCount() != expectedModCount) throw new java.util.ConcurrentModificationException();
+    }
+}
+
+/**
+ * Однопрохідний сканер тексту за кодовими точками.
+ *
+ * <p>Повторює семантику попереднього парсера (нормалізація пробілів + пошук найближчого
+ * збігу одного з шаблонів на кожному кроці):
+ * <ul>
+ *   <li>WORD — {@code \b\p{L}+(?:['’]\p{L}+)*\b} з {@code UNICODE_CHARACTER_CLASS};</li>
+ *   <li>PUNCT — серія символів {@code , . ! ? : ; - ( ) [ ] « » " “ ”};</li>
+ *   <li>SPACE — серія ASCII-пробілів {@code \s}; пропускається;</li>
+ *   <li>усе між збігами стає {@link Punctuation}; «хвіст» без жодного збігу після нього
+ *       відкидається.</li>
+ * </ul>
+ * Кожен символ переглядається O(1) разів, підрядки не копіюються.
+ */
+final class TextScanner {
+
+    /** Приймач токенів у порядку тексту. */
+    @FunctionalInterface
+    interface TokenSink {
+        void accept(Token token);
+    }
+
+    private TextScanner() { }
+
+    /** Символи класу PUNCT. */
+    static boolean isPunct(int c) {
+        return switch (c) {
+            case ',', '.', '!', '?', ':', ';', '-', '(', ')', '[', ']', '«', '»', '"', '“', '”' -> true;
+            default -> false;
+        };
+    }
+
+    /** ASCII-пробіли ({@code \s} без {@code UNICODE_CHARACTER_CLASS}). */
+    static boolean isSpace(int c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    /** Кінці рядка, які не є {@code \s}: перед ними {@code (?m)[\t ]+$} прибирав пробіли. */
+    private static boolean isOtherLineTerminator(int c) {
+        return c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
+
+    /**
+     * Сканує текст і передає токени у {@code sink}.
+     *
+     * @param src  сирий текст (без попередньої нормалізації)
+     * @param sink приймач токенів
+     */
+    static void scan(CharSequence src, TokenSink sink) {
+        scan(src, 0, src.length(), true, true, sink);
+    }
+
+    /**
+     * Сканує фрагмент {@code [from; to)} більшого документа.
+     *
+     * <p>Фрагмент має закінчуватися там, де це безпечно для розбиття (див.
+     * {@link #isSafeCut}), тоді послідовне сканування фрагментів дає ті самі токени,
+     * що й сканування всього документа.
+     *
+     * @param first чи це початок документа (відкидаються провідні пробільні символи)
+     * @param last  чи це кінець документа (відкидаються кінцеві пробільні символи)
+     */
+    static void scan(CharSequence src, int from, int to, boolean first, boolean last, TokenSink sink) {
+        // strip(): межі без пробільних символів Unicode
+        int lo = from;
+        int hi = to;
+        while (first && lo < hi) {
+            int cp = Character.codePointAt(src, lo);
+            if (!Character.isWhitespace(cp)) break;
+            lo += Character.charCount(cp);
+        }
+        while (last && hi > lo) {
+            int cp = Character.codePointBefore(src, hi);
+            if (!Character.isWhitespace(cp)) break;
+            hi -= Character.charCount(cp);
+        }
+        new TextScanner.Run(src, lo, hi, sink).scan();
+    }
+
+    /**
+     * Чи можна розрізати документ одразу після позиції {@code p}: там ASCII-пробіл,
+     * а наступний символ не є пробільним (і не NEL). Тоді жоден токен, серія пробілів
+     * чи кінцева/початкова пробільна ділянка не перетинає розріз.
+     */
+    static boolean isSafeCut(CharSequence src, int p) {
+        char next = src.charAt(p + 1);
+        return isSpace(src.charAt(p)) && !Character.isWhitespace(next) && next != '\u0085';
+    }
+
+    /** Збирає токени в речення й передає кожне завершене речення далі. */
+    static final class SentenceAssembler implements TokenSink {
+        private final java.util.function.Consumer<Sentence> out;
+        private final List<Token> current = new ArrayList<>();
+
+        SentenceAssembler(java.util.function.Consumer<Sentence> out) {
+            this.out = out;
+        }
+
+        @Override
+        public void accept(Token token) {
+            current.add(token);
+            if (token instanceof Punctuation p && p.isSentenceTerminator()) {
+                out.accept(new Sentence(current));
+                current.clear();
+            }
+        }
+
+        /** Передає незавершене останнє речення (якщо є). */
+        void finish() {
+            if (!current.isEmpty()) {
+                out.accept(new Sentence(current));
+                current.clear();
+            }
+        }
+    }
+
+    /** Стан одного проходу. */
+    private static final class Run {
+        private final CharSequence src;
+        private final int lo;
+        private final int hi;
+        private final TokenSink sink;
+        /** Початок поточного «несловесного» фрагмента або -1. */
+        private int chunkStart = -1;
+        /** Частина фрагмента до вирізаних пробілів (рідкісний випадок) або {@code null}. */
+        private StringBuilder chunkPrefix;
+
+        Run(CharSequence src, int lo, int hi, TokenSink sink) {
+            this.src = src;
+            this.lo = lo;
+            this.hi = hi;
+            this.sink = sink;
+        }
+
+        void scan() {
+            int p = lo;
+            while (p < hi) {
+                int cp = Character.codePointAt(src, p);
+                if ((cp == ' ' || cp == '\t') && chunkStart >= 0) {
+                    int e = p;
+                    while (e < hi && (src.charAt(e) == ' ' || src.charAt(e) == '\t')) e++;
+                    if (e < hi && isOtherLineTerminator(src.charAt(e))) {
+                        // Нормалізація прибирає ці пробіли, тож фрагмент триває.
+                        if (chunkPrefix == null) chunkPrefix = new StringBuilder();
+                        chunkPrefix.append(src, chunkStart, p);
+                        chunkStart = e;
+                        p = e;
+                        continue;
+                    }
+                }
+                if (isSpace(cp)) {
+                    flushChunk(p);
+                    while (p < hi && isSpace(src.charAt(p))) p++;
+                } else if (isPunct(cp)) {
+                    flushChunk(p);
+                    int e = p + 1;
+                    while (e < hi && isPunct(src.charAt(e))) e++;
+                    sink.accept(new Punctuation(src.subSequence(p, e).toString()));
+                    p = e;
+                } else if (WordSyntax.isLetter(cp)
+                        && (p == lo || !WordSyntax.isWordChar(Character.codePointBefore(src, p)))) {
+                    int end = WordSyntax.matchWord(src, p, hi);
+                    if (end > p) {
+                        flushChunk(p);
+                        sink.accept(Word.of(src.subSequence(p, end).toString()));
+                        p = end;
+                    } else {
+                        // Збігу немає: уся серія літер іде у фрагмент, всередині неї початку слова бути не може.
+                        if (chunkStart < 0) chunkStart = p;
+                        p = WordSyntax.skipLetters(src, p, hi);
+                    }
+                } else {
+                    if (chunkStart < 0) chunkStart = p;
+                    p += Character.charCount(cp);
+                }
+            }
+            // Фрагмент без жодного збігу після нього відкидається, як і раніше.
+        }
+
+        private void flushChunk(int end) {
+            if (chunkStart < 0) return;
+            String chunk;
+            if (chunkPrefix == null) {
+                chunk = src.subSequence(chunkStart, end).toString();
+            } else {
+                chunk = chunkPrefix.append(src, chunkStart, end).toString();
+                chunkPrefix = null;
+            }
+            chunkStart = -1;
+            sink.accept(new Punctuation(chunk));
+        }
+    }
+}
+
+/**
+ * Потоковий парсер: читає текст із {@link Reader} і віддає речення по одному.
+ *
+ * <p>Символи читаються у вікно фіксованого розміру; сканується лише частина до
+ * останнього безпечного розрізу ({@link TextScanner#isSafeCut}), решта переноситься
+ * в наступне вікно. Результат збігається з {@link Text#parse} для всього документа,
+ * а в пам’яті одночасно тримаються лише вікно та ще не віддані речення.
+ * Вікно збільшується, лише якщо в ньому немає жодного розрізу.
+ */
+final class SentenceReader implements Iterator<Sentence>, Closeable {
+    /** Початковий розмір вікна, символів. */
+    private static final int DEFAULT_WINDOW = 1 << 16;
+
+    private final Reader in;
+    private final ArrayDeque<Sentence> ready = new ArrayDeque<>();
+    private final TextScanner.SentenceAssembler assembler = new TextScanner.SentenceAssembler(ready::add);
+    private char[] buf;
+    /** Межі ще не просканованих символів у {@code buf}. */
+    private int start;
+    private int end;
+    /** Позиції {@code [start; checked)} уже перевірені: розрізу там немає. */
+    private int checked;
+    private boolean first = true;
+    private boolean eof;
+
+    SentenceReader(Reader in) {
+        this(in, DEFAULT_WINDOW);
+    }
+
+    SentenceReader(Reader in, int window) {
+        if (window < 2) throw new IllegalArgumentException("Вікно має бути >= 2");
+        this.in = Objects.requireNonNull(in, "Reader не може бути null");
+        this.buf = new char[window];
+    }
+
+    /** Парсер над каналом байтів у заданому кодуванні. */
+    static SentenceReader of(ReadableByteChannel channel, Charset charset) {
+        return new SentenceReader(Channels.newReader(channel, charset.newDecoder(), -1));
+    }
+
+    @Override
+    public boolean hasNext() {
+        try {
+            while (ready.isEmpty() && !eof) fill();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return !ready.isEmpty();
+    }
+
+    @Override
+    public Sentence next() {
+        if (!hasNext()) throw new NoSuchElementException();
+        return ready.poll();
+    }
+
+    /** Дочитує наступну порцію і сканує її до останнього безпечного розрізу. */
+    private void fill() throws IOException {
+        if (start > 0) {
+            System.arraycopy(buf, start, buf, 0, end - start);
+            end -= start;
+            checked = Math.max(0, checked - start);
+            start = 0;
+        } else if (end == buf.length) {
+            buf = Arrays.copyOf(buf, buf.length * 2);
+        }
+        int n = in.read(buf, end, buf.length - end);
+        if (n < 0) {
+            eof = true;
+            TextScanner.scan(java.nio.CharBuffer.wrap(buf), start, end, first, true, assembler);
+            assembler.finish();
+            start = end;
+            return;
+        }
+        end += n;
+        java.nio.CharBuffer view = java.nio.CharBuffer.wrap(buf);
+        for (int p = end - 2; p >= Math.max(start, checked); p--) {
+            if (TextScanner.isSafeCut(view, p)) {
+                TextScanner.scan(view, start, p + 1, first, false, assembler);
+                first = false;
+                start = p + 1;
+                checked = start;
+                return;
+            }
+        }
+        checked = Math.max(start, end - 1);
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
+
+/**
+ * Бенчмарк {@link Text#parse} на згенерованому українському корпусі кількох мегабайт.
+ *
+ * <p>Для невеликих розмірів також запускається попередній регекс-парсер
+ * ({@link #legacyParse}) — щоб показати його квадратичне зростання та перевірити,
+ * що результати збігаються токен у токен.
+ */
+class TextParseBenchmark {
+
+    /** Слова для генерації корпусу. */
+    private static final String[] VOCAB = {
+            "сонце", "світить", "яскраво", "гарний", "день", "для", "прогулянки", "в", "парку",
+            "проте", "сильний", "вітер", "псує", "настрій", "хмари", "пливуть", "швидко", "м’ята",
+            "п'ять", "Київ", "Україна", "читати", "книжку", "і", "ми", "їхали", "додому", "2025",
+            "ґанок", "єдність", "щастя", "об’єкт", "дерево", "ріка", "зима", "літо"
+    };
+
+    /** Розділові знаки між словами та в кінці речень. */
+    private static final String[] INNER = {" ", " ", " ", ", ", " — ", " (", ") ", " «", "» ", ": "};
+    private static final String[] END = {". ", "! ", "? ", "... ", ".\n", "!\n\n"};
+
+    public static void main(String[] args) throws IOException {
+        checkStreaming(100_000);
+        for (int kb : new int[]{16, 32, 64, 128}) {
+            String text = corpus(kb * 1024L, 1);
+            long t0 = System.nanoTime();
+            Text legacy = legacyParse(text);
+            long t1 = System.nanoTime();
+            Text fast = Text.parse(text);
+            long t2 = System.nanoTime();
+            if (!legacy.sentences().equals(fast.sentences())) {
+                throw new IllegalStateException("Результати парсерів різняться для " + kb + " КБ");
+            }
+            System.out.printf("%6d КБ: регекс %9.1f мс, сканер %7.2f мс%n", kb, (t1 - t0) / 1e6, (t2 - t1) / 1e6);
+        }
+        for (int mb : new int[]{1, 2, 4, 8}) {
+            String text = corpus(mb * 1024L * 1024L, 2);
+            long best = Long.MAX_VALUE;
+            int sentences = 0;
+            for (int r = 0; r < 3; r++) {
+                long t0 = System.nanoTime();
+                sentences = Text.parse(text).sentences().size();
+                best = Math.min(best, System.nanoTime() - t0);
+            }
+            double bytes = text.getBytes(StandardCharsets.UTF_8).length;
+            System.out.printf("%6d МБ: сканер %8.1f мс, %6.1f МБ/с, речень %d%n",
+                    mb, best / 1e6, bytes / (1 << 20) / (best / 1e9), sentences);
+        }
+    }
+
+    /**
+     * Потоковий {@link Text#removeWordsBy(Reader, Writer, Sentence.PredicateWord)} на випадкових
+     * рядках має давати те саме, що {@link Text#toString()} після розбору всього тексту, —
+     * зокрема для NEL, NBSP, U+3000 та CR, які нормалізація пробілів не стискає.
+     */
+    static void checkStreaming(int samples) throws IOException {
+        final String alphabet = "аб cd  \t\n\r\u0085\u00A0\u3000\u2028\u2029\f.,!?;:()«»\"' -xy";
+        final Sentence.PredicateWord twoLetters = w -> w.lengthByCodePoints() == 2;
+        java.util.SplittableRandom rnd = new java.util.SplittableRandom(12);
+        for (int i = 0; i < samples; i++) {
+            StringBuilder sb = new StringBuilder();
+            for (int n = rnd.nextInt(60); n > 0; n--) sb.append(alphabet.charAt(rnd.nextInt(alphabet.length())));
+            String raw = sb.toString();
+            Text text = Text.parse(raw);
+            text.removeWordsBy(twoLetters);
+            java.io.StringWriter streamed = new java.io.StringWriter();
+            Text.removeWordsBy(new java.io.StringReader(raw), streamed, twoLetters);
+            if (!text.toString().equals(streamed.toString())) {
+                throw new IllegalStateException("Потоковий вивід відрізняється від toString() для «" + raw + "»");
+            }
+        }
+    }
+
+    /** Генерує псевдовипадковий український текст приблизно з {@code chars} символів. */
+    static String corpus(long chars, long seed) {
+        java.util.SplittableRandom rnd = new java.util.SplittableRandom(seed);
+        StringBuilder sb = new StringBuilder((int) chars + 64);
+        while (sb.length() < chars) {
+            int words = 3 + rnd.nextInt(12);
+            for (int w = 0; w < words; w++) {
+                String word = VOCAB[rnd.nextInt(VOCAB.length)];
+                if (w == 0) word = Character.toUpperCase(word.charAt(0)) + word.substring(1);
+                sb.append(word);
+                sb.append(w + 1 < words ? INNER[rnd.nextInt(INNER.length)] : END[rnd.nextInt(END.length)]);
+            }
+        }
+        return sb.toString();
+    }
+
+    /** Попередній парсер (substring + три регекс-пошуки на кожному кроці) — еталон для порівняння. */
+    static Text legacyParse(String raw) {
+        final java.util.regex.Pattern word = java.util.regex.Pattern.compile(
+                "\\b\\p{L}+(?:['’]\\p{L}+)*\\b", java.util.regex.Pattern.UNICODE_CHARACTER_CLASS);
+        final java.util.regex.Pattern punct = java.util.regex.Pattern.compile("[,\\.\\!\\?\\:\\;\\-\\(\\)\\[\\]«»\"“”]+");
+        final java.util.regex.Pattern space = java.util.regex.Pattern.compile("\\s+");
+        String src = Text.normalizeWhitespace(raw);
         List<Sentence> res = new ArrayList<>();
         List<Token> current = new ArrayList<>();
         int i = 0;
         while (i < src.length()) {
             String tail = src.substring(i);
-            Matcher mw = WORD.matcher(tail);
-            Matcher mp = PUNCT.matcher(tail);
-            Matcher ms = SPACE.matcher(tail);
+            java.util.regex.Matcher mw = word.matcher(tail);
+            java.util.regex.Matcher mp = punct.matcher(tail);
+            java.util.regex.Matcher ms = space.matcher(tail);
             int wStart = mw.find() ? mw.start() : Integer.MAX_VALUE;
             int pStart = mp.find() ? mp.start() : Integer.MAX_VALUE;
             int sStart = ms.find() ? ms.start() : Integer.MAX_VALUE;
@@ -283,9 +1327,9 @@ final class Text {
                 i += next; continue;
             }
             if (wStart == 0) {
-                String word = mw.group();
-                current.add(Word.of(word));
-                i += word.length();
+                String w = mw.group();
+                current.add(Word.of(w));
+                i += w.length();
             } else if (pStart == 0) {
                 String sym = mp.group();
                 Punctuation p = new Punctuation(sym);
@@ -296,44 +1340,202 @@ final class Text {
                     current = new ArrayList<>();
                 }
             } else {
-                String sp = ms.group();
-                i += sp.length();
+                i += ms.group().length();
             }
         }
         if (!current.isEmpty()) res.add(new Sentence(current));
         return new Text(res);
     }
+}
 
-    int removeWordsBy(Sentence.PredicateWord predicate) {
-        int total = 0;
-        for (Sentence s : sentences) total += s.removeWordsBy(predicate);
-        return total;
+/**
+ * Порівняння пам’яті для слів: компактний {@link Word} (рядок + довжина) проти
+ * колишнього подання {@code List<Letter>} з окремим об’єктом на кожну кодову точку.
+ *
+ * <p>Для тих самих слів корпусу вимірюється утримувана купа після GC, а також байти,
+ * виділені під час розбору (через {@code com.sun.management.ThreadMXBean}, якщо доступний).
+ */
+class WordMemoryBenchmark {
+
+    public static void main(String[] args) {
+        int mb = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+        List<String> raw = wordsOf(mb);
+
+        long heapBefore = usedHeap();
+        List<Word> compact = new ArrayList<>(raw.size());
+        for (String w : raw) compact.add(Word.of(new String(w)));
+        long compactBytes = usedHeap() - heapBefore;
+
+        heapBefore = usedHeap();
+        List<List<Letter>> legacy = new ArrayList<>(raw.size());
+        for (Word w : compact) legacy.add(List.copyOf(w.letters()));
+        long legacyBytes = usedHeap() - heapBefore;
+
+        System.out.printf("Слів: %d%n", raw.size());
+        System.out.printf("Word (рядок):      %7.1f МБ, %6.1f Б/слово%n",
+                compactBytes / 1e6, (double) compactBytes / raw.size());
+        System.out.printf("List<Letter>:      %7.1f МБ, %6.1f Б/слово%n",
+                legacyBytes / 1e6, (double) legacyBytes / raw.size());
+        System.out.printf("Економія: x%.1f%n", (double) legacyBytes / compactBytes);
+        if (legacy.size() != compact.size()) {
+            throw new IllegalStateException();
+        }
     }
 
-    Text toUpperCase() {
-        List<Sentence> out = new ArrayList<>(sentences.size());
-        for (Sentence s : sentences) out.add(s.toUpperCase());
-        return new Text(out);
+    /** Розбирає корпус, друкує виділену під час розбору пам’ять і повертає рядки слів. */
+    private static List<String> wordsOf(int mb) {
+        String corpus = TextParseBenchmark.corpus(mb * 1024L * 1024L, 5);
+        long allocBefore = allocatedBytes();
+        Text text = Text.parse(corpus);
+        long allocated = allocatedBytes() - allocBefore;
+        System.out.printf("Корпус: %d МБ%n", mb);
+        if (allocBefore >= 0) {
+            System.out.printf("Виділено під час Text.parse: %.1f МБ%n", allocated / 1e6);
+        }
+        List<String> raw = new ArrayList<>();
+        for (Sentence s : text.sentences()) {
+            for (Token t : s.tokens()) {
+                if (t.isWord()) raw.add(new String(t.asString()));
+            }
+        }
+        return raw;
     }
 
-    Text toLowerCase() {
-        List<Sentence> out = new ArrayList<>(sentences.size());
-        for (Sentence s : sentences) out.add(s.toLowerCase());
-        return new Text(out);
+    private static long usedHeap() {
+        Runtime rt = Runtime.getRuntime();
+        for (int i = 0; i < 4; i++) {
+            System.gc();
+        }
+        return rt.totalMemory() - rt.freeMemory();
     }
 
-    Text replace(String target, String replacement) {
-        List<Sentence> out = new ArrayList<>(sentences.size());
-        for (Sentence s : sentences) out.add(s.replace(target, replacement));
-        return new Text(out);
+    /** Байти, виділені поточним потоком, або -1, якщо JVM не надає цю метрику. */
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean bean = java.lang.management.ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean sun && sun.isThreadAllocatedMemorySupported()) {
+            return sun.getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
     }
+}
 
-    @Override public String toString() {
-        StringBuilder sb = new StringBuilder();
-        for (Sentence s : sentences) {
-            if (sb.length() > 0) sb.append(' ');
-            sb.append(s.toString());
+/**
+ * Порівняння послідовних і паралельних операцій {@link Text} на великому корпусі.
+ * Запуск: {@code java -cp . TextParallelBenchmark [МБ]}. Перед заміром перевіряє,
+ * що паралельні результати збігаються з послідовними.
+ */
+class TextParallelBenchmark {
+
+    public static void main(String[] args) {
+        int mb = args.length > 0 ? Integer.parseInt(args[0]) : 16;
+        String corpus = TextParseBenchmark.corpus(mb * 1024L * 1024L, 7);
+        Sentence.PredicateWord predicate = w -> w.startsWithConsonant() && w.lengthByCodePoints() == 5;
+        System.out.printf("Корпус: %d МБ, потоків у ForkJoinPool: %d%n",
+                mb, java.util.concurrent.ForkJoinPool.getCommonPoolParallelism());
+
+        Text seq = Text.parse(corpus);
+        Text par = Text.parseParallel(corpus);
+        if (!seq.toString().equals(par.toString()) || seq.sentences().size() != par.sentences().size()) {
+            throw new IllegalStateException("parseParallel розходиться з parse");
+        }
+        if (!seq.toUpperCase().toString().equals(par.toUpperCaseParallel().toString())) {
+            throw new IllegalStateException("toUpperCaseParallel розходиться з toUpperCase");
+        }
+        long removedSeq = seq.removeWordsBy(predicate);
+        long removedPar = par.removeWordsByParallel(predicate);
+        if (removedSeq != removedPar || !seq.toString().equals(par.toString())) {
+            throw new IllegalStateException("removeWordsByParallel розходиться з removeWordsBy");
+        }
+
+        report("parse", () -> Text.parse(corpus), () -> Text.parseParallel(corpus));
+        report("toUpperCase", seq::toUpperCase, seq::toUpperCaseParallel);
+        report("replace", () -> seq.replace("а", "о"), () -> seq.replaceParallel("а", "о"));
+        report("removeWordsBy", () -> Text.parse(corpus).removeWordsBy(predicate),
+                () -> Text.parse(corpus).removeWordsByParallel(predicate));
+        System.out.printf("Видалено слів: %d%n", removedSeq);
+    }
+
+    private static void report(String name, Runnable sequential, Runnable parallel) {
+        double s = best(sequential);
+        double p = best(parallel);
+        System.out.printf("%-14s послідовно %8.1f мс, паралельно %8.1f мс, x%.1f%n", name, s, p, s / p);
+    }
+
+    private static double best(Runnable r) {
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 5; i++) {
+            long t0 = System.nanoTime();
+            r.run();
+            best = Math.min(best, System.nanoTime() - t0);
+        }
+        return best / 1e6;
+    }
+}
+
+/**
+ * Пам’ять, виділена ланцюжком перетворень {@link Text}: незмінені речення й токени
+ * діляться з початковим текстом, тож виділення залежить від обсягу змін.
+ * Запуск: {@code java -cp . TextTransformBenchmark [МБ]}.
+ */
+class TextTransformBenchmark {
+
+    public static void main(String[] args) {
+        int mb = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+        Text text = Text.parse(TextParseBenchmark.corpus(mb * 1024L * 1024L, 11)).toLowerCase();
+        java.lang.management.ThreadMXBean bean = java.lang.management.ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean sun) || !sun.isThreadAllocatedMemorySupported()) {
+            System.out.println("JVM не надає лічильник виділеної пам’яті");
+            return;
+        }
+        long id = Thread.currentThread().getId();
+        System.out.printf("Корпус: %d МБ%n", mb);
+        for (String chain : new String[]{"toLowerCase", "replace ґ", "replace Київ", "toUpperCase"}) {
+            long before = sun.getThreadAllocatedBytes(id);
+            Text res = switch (chain) {
+                case "toLowerCase" -> text.toLowerCase().toLowerCase();
+                case "replace ґ" -> text.replace("ґ", "г").replace("ґ", "г");
+                case "replace Київ" -> text.replace("київ", "Київ").toLowerCase();
+                default -> text.toUpperCase();
+            };
+            long allocated = sun.getThreadAllocatedBytes(id) - before;
+            System.out.printf("%-14s виділено %8.2f МБ (речень %d)%n",
+                    chain, allocated / 1e6, res.sentences().size());
+        }
+    }
+}
+
+/**
+ * Серія запитів «слова довжини N, що починаються з приголосної» для N = 1..12:
+ * повний прохід по тексту на кожен запит проти {@link WordIndex}.
+ * Запуск: {@code java -cp . WordIndexBenchmark [МБ]}.
+ */
+class WordIndexBenchmark {
+
+    public static void main(String[] args) {
+        int mb = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+        String corpus = TextParseBenchmark.corpus(mb * 1024L * 1024L, 13);
+        Text scanned = Text.parse(corpus);
+        Text indexed = Text.parse(corpus);
+
+        long t0 = System.nanoTime();
+        long scanCount = 0;
+        for (int n = 1; n <= 12; n++) {
+            final int len = n;
+            scanCount += scanned.removeWordsBy(w -> w.startsWithConsonant() && w.lengthByCodePoints() == len);
+        }
+        long t1 = System.nanoTime();
+        WordIndex index = indexed.index();
+        long t2 = System.nanoTime();
+        long indexCount = 0;
+        for (int n = 1; n <= 12; n++) indexCount += index.remove(n, WordIndex.FirstLetter.CONSONANT);
+        long t3 = System.nanoTime();
+
+        if (scanCount != indexCount || !scanned.toString().equals(indexed.toString())) {
+            throw new IllegalStateException("Індекс розходиться з removeWordsBy");
         }
-        return normalizeWhitespace(sb.toString());
+        System.out.printf("Корпус: %d МБ, видалено слів: %d%n", mb, scanCount);
+        System.out.printf("removeWordsBy x12:       %8.1f мс%n", (t1 - t0) / 1e6);
+        System.out.printf("index(): побудова        %8.1f мс%n", (t2 - t1) / 1e6);
+        System.out.printf("WordIndex.remove x12:    %8.1f мс%n", (t3 - t2) / 1e6);
     }
 }
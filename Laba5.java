@@ -1,9 +1,15 @@
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
-import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NavigableMap;
 import java.util.Objects;
 import java.util.Scanner;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
 
 
 /**
@@ -60,15 +66,26 @@ class EmissionRange {
      *                                  якщо {@code qMin > qMax}
      */
     boolean intersects(double qMin, double qMax) {
+        checkQuery(qMin, qMax);
+
+        // Перетин існує, якщо проміжки не рознесені вліво/вправо.
+        return !(maxMHz < qMin || minMHz > qMax);
+    }
+
+    /**
+     * Перевіряє межі запиту {@code [qMin; qMax]}.
+     *
+     * @param qMin нижня межа запиту, МГц
+     * @param qMax верхня межа запиту, МГц
+     * @throws IllegalArgumentException якщо межі не числа, від’ємні або {@code qMin > qMax}
+     */
+    static void checkQuery(double qMin, double qMax) {
         if (Double.isNaN(qMin) || Double.isNaN(qMax))
             throw new IllegalArgumentException("Межі запиту мають бути числами");
         if (qMin < 0 || qMax < 0)
             throw new IllegalArgumentException("Межі запиту не можуть бути від’ємними");
         if (qMin > qMax)
             throw new IllegalArgumentException("Верхня межа має бути більшою за нижню");
-
-        // Перетин існує, якщо проміжки не рознесені вліво/вправо.
-        return !(maxMHz < qMin || minMHz > qMax);
     }
 
 /**
@@ -114,8 +131,10 @@ abstract class Appliance {
     public final int powerW;
     /** Діапазон електромагнітного випромінювання. */
     public final EmissionRange emission;
-    /** Поточний стан підключення. */
-    private boolean plugged;
+    /** Поточний стан підключення; змінюється лише під монітором приладу. */
+    private volatile boolean plugged;
+    /** Квартира, якій належить прилад, або {@code null}. */
+    private Apartment owner;
 
     /**
      * Створює прилад.
@@ -168,25 +187,56 @@ abstract class Appliance {
     }
 
     /**
-     * Вмикає прилад у мережу.
+     * Вмикає прилад у мережу. Потокобезпечний.
      *
      * @throws IllegalStateException якщо прилад уже увімкнено
      */
-    public void plugIn() {
+    public synchronized void plugIn() {
         if (plugged)
             throw new IllegalStateException(name + ": вже увімкнено!");
         plugged = true;
+        if (owner != null) owner.powerChanged(powerW);
     }
 
     /**
-     * Вимикає прилад з мережі.
+     * Вимикає прилад з мережі. Потокобезпечний.
      *
      * @throws IllegalStateException якщо прилад уже вимкнено
      */
-    public void unplug() {
+    public synchronized void unplug() {
         if (!plugged)
             throw new IllegalStateException(name + ": вже вимкнено!");
         plugged = false;
+        if (owner != null) owner.powerChanged(-powerW);
+    }
+
+    /**
+     * Встановлює стан підключення без винятків і без сповіщення квартири — для пакетних
+     * операцій, які самі враховують повернуту зміну споживання.
+     *
+     * @param on бажаний стан
+     * @return зміна споживання, Вт: {@code +powerW}, {@code -powerW} або 0, якщо стан уже такий
+     */
+    synchronized int switchQuietly(boolean on) {
+        if (plugged == on) return 0;
+        plugged = on;
+        return on ? powerW : -powerW;
+    }
+
+    /**
+     * Прив’язує прилад до квартири, щоб вона дізнавалася про вмикання/вимикання.
+     * Стан читається під тим самим монітором, що й у {@link #plugIn()}/{@link #unplug()},
+     * тому жодне перемикання не буде пропущене чи враховане двічі.
+     *
+     * @param owner квартира
+     * @return поточний стан підключення на момент прив’язки
+     * @throws IllegalArgumentException якщо прилад уже належить квартирі
+     */
+    synchronized boolean attachTo(Apartment owner) {
+        if (this.owner != null)
+            throw new IllegalArgumentException(name + ": прилад уже додано до квартири");
+        this.owner = owner;
+        return plugged;
     }
 
     /**
@@ -260,21 +310,243 @@ class Laptop extends Appliance {
     Laptop(String n, int p, EmissionRange e) { super(n, p, e); }
 }
 
+/**
+ * Індекс діапазонів випромінювання — доповнене інтервальне дерево (AVL).
+ *
+ * <p>Вузол дерева — прилад із номером {@code slot} (позиція у списку квартири); ключ — пара (нижня межа, {@code slot}),
+ * а кожен вузол додатково зберігає найбільшу верхню межу у своєму піддереві. Це дозволяє
+ * відкидати піддерева, що гарантовано не перетинаються із запитом: пошук усіх перетинів
+ * займає O(log n + k) для типових даних, додавання — O(log n).
+ * Дерево зберігається в паралельних масивах, індекс вузла збігається з номером рядка.
+ */
+final class EmissionIndex {
+    /** Позначка відсутнього нащадка. */
+    private static final int NIL = -1;
+    /** Початкова місткість масивів. */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private double[] lo = new double[DEFAULT_CAPACITY];
+    private double[] hi = new double[DEFAULT_CAPACITY];
+    /** Найбільша верхня межа в піддереві вузла. */
+    private double[] maxHi = new double[DEFAULT_CAPACITY];
+    private int[] left = new int[DEFAULT_CAPACITY];
+    private int[] right = new int[DEFAULT_CAPACITY];
+    private int[] height = new int[DEFAULT_CAPACITY];
+    private int root = NIL;
+    private int size;
+
+    /**
+     * Додає діапазон рядка {@code slot}. Рядки мають додаватися послідовно: 0, 1, 2, ...
+     *
+     * @param slot номер рядка (дорівнює кількості вже доданих)
+     * @param emission діапазон випромінювання
+     */
+    void add(int slot, EmissionRange emission) {
+        if (slot != size)
+            throw new IllegalArgumentException("Очікувався рядок " + size + ", отримано " + slot);
+        if (size == lo.length) {
+            int capacity = size + (size >> 1);
+            lo = Arrays.copyOf(lo, capacity);
+            hi = Arrays.copyOf(hi, capacity);
+            maxHi = Arrays.copyOf(maxHi, capacity);
+            left = Arrays.copyOf(left, capacity);
+            right = Arrays.copyOf(right, capacity);
+            height = Arrays.copyOf(height, capacity);
+        }
+        lo[slot] = emission.minMHz;
+        hi[slot] = emission.maxMHz;
+        maxHi[slot] = emission.maxMHz;
+        left[slot] = NIL;
+        right[slot] = NIL;
+        height[slot] = 1;
+        size++;
+        root = insert(root, slot);
+    }
+
+    /**
+     * Номери рядків, чий діапазон перетинається із {@code [qMin; qMax]} (межі включні),
+     * у порядку зростання. Межі запиту мають бути перевірені викликачем.
+     */
+    int[] findOverlapping(double qMin, double qMax) {
+        Hits hits = new Hits();
+        collect(root, qMin, qMax, hits);
+        int[] result = Arrays.copyOf(hits.slots, hits.count);
+        Arrays.sort(result);
+        return result;
+    }
+
+    /** Накопичувач номерів знайдених рядків. */
+    private static final class Hits {
+        int[] slots = new int[DEFAULT_CAPACITY];
+        int count;
+
+        void add(int slot) {
+            if (count == slots.length) slots = Arrays.copyOf(slots, count + (count >> 1));
+            slots[count++] = slot;
+        }
+    }
+
+    private void collect(int node, double qMin, double qMax, Hits hits) {
+        if (node == NIL || maxHi[node] < qMin) return;
+        collect(left[node], qMin, qMax, hits);
+        if (lo[node] > qMax) return; // праворуч лише більші нижні межі
+        if (hi[node] >= qMin) hits.add(node);
+        collect(right[node], qMin, qMax, hits);
+    }
+
+    private boolean less(int a, int b) {
+        int c = Double.compare(lo[a], lo[b]);
+        return c < 0 || (c == 0 && a < b);
+    }
+
+    private int insert(int node, int slot) {
+        if (node == NIL) return slot;
+        if (less(slot, node)) left[node] = insert(left[node], slot);
+        else right[node] = insert(right[node], slot);
+        return rebalance(node);
+    }
+
+    private int h(int node) {
+        return node == NIL ? 0 : height[node];
+    }
+
+    private void update(int node) {
+        height[node] = 1 + Math.max(h(left[node]), h(right[node]));
+        double m = hi[node];
+        if (left[node] != NIL) m = Math.max(m, maxHi[left[node]]);
+        if (right[node] != NIL) m = Math.max(m, maxHi[right[node]]);
+        maxHi[node] = m;
+    }
+
+    private int rotateRight(int node) {
+        int l = left[node];
+        left[node] = right[l];
+        right[l] = node;
+        update(node);
+        update(l);
+        return l;
+    }
+
+    private int rotateLeft(int node) {
+        int r = right[node];
+        right[node] = left[r];
+        left[r] = node;
+        update(node);
+        update(r);
+        return r;
+    }
+
+    private int rebalance(int node) {
+        update(node);
+        int balance = h(left[node]) - h(right[node]);
+        if (balance > 1) {
+            if (h(left[left[node]]) < h(right[left[node]])) left[node] = rotateLeft(left[node]);
+            return rotateRight(node);
+        }
+        if (balance < -1) {
+            if (h(right[right[node]]) < h(left[right[node]])) right[node] = rotateRight(right[node]);
+            return rotateLeft(node);
+        }
+        return node;
+    }
+}
 
 /**
  * Клас, що описує квартиру з колекцією приладів.
+ *
+ * <p>Прилади повідомляють квартиру про вмикання/вимикання, тож сумарна потужність
+ * увімкнених приладів підтримується інкрементально у {@link LongAdder}: кожне перемикання
+ * додає ±{@code powerW}, читання суми займає O(1), а паралельні перемикання не конкурують
+ * за одну комірку пам’яті. Вмикання/вимикання приладів потокобезпечне; додавання приладів — ні.
+ * Пошук за випромінюванням іде через інтервальне дерево {@link EmissionIndex}.
  */
 class Apartment {
     private final List<Appliance> devices = new ArrayList<>();
+    /** Сумарна потужність увімкнених приладів, Вт. */
+    private final LongAdder pluggedPower = new LongAdder();
+    private final EmissionIndex emissionIndex = new EmissionIndex();
+    /**
+     * Прилади, впорядковані за потужністю. Ключ — {@code powerW << 32 | slot}: спершу
+     * потужність, при рівності — порядок додавання.
+     */
+    private final NavigableMap<Long, Appliance> byPower = new TreeMap<>();
 
     /**
      * Додає прилад до колекції.
      *
      * @param a прилад (не {@code null})
      * @throws NullPointerException якщо {@code a == null}
+     * @throws IllegalArgumentException якщо прилад уже додано до квартири
      */
     public void add(Appliance a) {
-        devices.add(Objects.requireNonNull(a, "Прилад не може бути null"));
+        Objects.requireNonNull(a, "Прилад не може бути null");
+        int slot = devices.size();
+        if (a.attachTo(this)) pluggedPower.add(a.powerW);
+        emissionIndex.add(slot, a.emission);
+        byPower.put(powerKey(a.powerW, slot), a);
+        devices.add(a);
+    }
+
+    /**
+     * Викликається приладом після зміни стану підключення.
+     *
+     * @param deltaW зміна споживання, Вт ({@code +powerW} або {@code -powerW})
+     */
+    void powerChanged(int deltaW) {
+        pluggedPower.add(deltaW);
+    }
+
+    /**
+     * Результат пакетного перемикання.
+     *
+     * @param switched кількість приладів, стан яких змінився
+     * @param skipped  кількість відібраних приладів, що вже були в потрібному стані
+     * @param deltaW   зміна сумарного споживання, Вт
+     */
+    record SwitchResult(int switched, int skipped, long deltaW) { }
+
+    /**
+     * Вмикає або вимикає за один прохід усі прилади, що задовольняють умові.
+     * Прилади, які вже перебувають у потрібному стані, пропускаються без винятків.
+     * Зміна кожного приладу враховується в сумарній потужності одразу після перемикання,
+     * тож паралельні читачі бачать актуальну суму, а виняток з {@code filter} посеред
+     * проходу не залишає вже перемкнені прилади неврахованими.
+     *
+     * @param filter умова відбору (не {@code null})
+     * @param on     {@code true} — увімкнути, {@code false} — вимкнути
+     * @return кількість перемкнених і пропущених приладів та зміна споживання
+     * @throws NullPointerException якщо {@code filter == null}
+     */
+    public SwitchResult switchAll(Predicate<? super Appliance> filter, boolean on) {
+        Objects.requireNonNull(filter, "Умова не може бути null");
+        int switched = 0;
+        int skipped = 0;
+        long deltaW = 0;
+        for (Appliance a : devices) {
+            if (!filter.test(a)) continue;
+            int d = a.switchQuietly(on);
+            if (d == 0) {
+                skipped++;
+            } else {
+                pluggedPower.add(d);
+                switched++;
+                deltaW += d;
+            }
+        }
+        return new SwitchResult(switched, skipped, deltaW);
+    }
+
+    /**
+     * Вмикає або вимикає всі прилади заданого типу (з нащадками), напр. {@code Kettle.class}.
+     *
+     * @param type тип приладів (не {@code null})
+     * @param on   {@code true} — увімкнути, {@code false} — вимкнути
+     * @return кількість перемкнених і пропущених приладів та зміна споживання
+     * @throws NullPointerException якщо {@code type == null}
+     */
+    public SwitchResult switchAll(Class<? extends Appliance> type, boolean on) {
+        Objects.requireNonNull(type, "Тип не може бути null");
+        return switchAll(type::isInstance, on);
     }
 
     /**
@@ -287,29 +559,78 @@ class Apartment {
     }
 
     /**
-     * Обчислює сумарну потужність увімкнених приладів.
+     * Повертає сумарну потужність увімкнених приладів за O(1).
+     * Під час паралельних перемикань значення відповідає деякому проміжному стану;
+     * після їх завершення — точне.
      *
      * @return сумарне споживання в Вт
      */
-    public int totalPower() {
-        int sum = 0;
-        for (Appliance a : devices) sum += a.currentPower();
-        return sum;
+    public long totalPower() {
+        return pluggedPower.sum();
+    }
+
+    /** Ключ індексу потужності: старші 32 біти — потужність, молодші — номер приладу. */
+    private static long powerKey(int powerW, int slot) {
+        return ((long) powerW << 32) | (slot & 0xFFFFFFFFL);
     }
 
     /**
-     * Повертає новий список приладів, відсортований за номінальною потужністю (зростання).
+     * Повертає новий список приладів, відсортований за номінальною потужністю (зростання;
+     * при рівній потужності — у порядку додавання). Індекс підтримується при додаванні,
+     * тому виклик лише копіює його за O(n), без сортування.
      *
      * @return відсортований список (копія)
      */
     public List<Appliance> sortByPower() {
-        List<Appliance> sorted = new ArrayList<>(devices);
-        sorted.sort(Comparator.comparingInt(a -> a.powerW));
-        return sorted;
+        return new ArrayList<>(byPower.values());
+    }
+
+    /**
+     * Повертає впорядковане за потужністю подання приладів без копіювання.
+     *
+     * @return read-only подання у порядку зростання потужності
+     */
+    public Collection<Appliance> byPowerView() {
+        return Collections.unmodifiableCollection(byPower.values());
+    }
+
+    /**
+     * Повертає {@code k} найпотужніших приладів (спадання потужності) за O(log n + k).
+     *
+     * @param k кількість приладів (>= 0)
+     * @return список не довший за {@code k}
+     * @throws IllegalArgumentException якщо {@code k < 0}
+     */
+    public List<Appliance> topByPower(int k) {
+        if (k < 0)
+            throw new IllegalArgumentException("Кількість не може бути від’ємною");
+        List<Appliance> result = new ArrayList<>(Math.min(k, byPower.size()));
+        Iterator<Appliance> it = byPower.descendingMap().values().iterator();
+        while (result.size() < k && it.hasNext()) result.add(it.next());
+        return result;
+    }
+
+    /**
+     * Знаходить прилади з номінальною потужністю в межах {@code [minW; maxW]}
+     * (зростання потужності) за O(log n + k).
+     *
+     * @param minW нижня межа, Вт
+     * @param maxW верхня межа, Вт
+     * @return список приладів, що задовольняють умові
+     * @throws IllegalArgumentException якщо {@code minW > maxW}
+     */
+    public List<Appliance> findByPower(int minW, int maxW) {
+        if (minW > maxW)
+            throw new IllegalArgumentException("Верхня межа має бути більшою або рівною нижній");
+        if (maxW <= 0) return new ArrayList<>();
+        long from = powerKey(Math.max(minW, 0), 0);
+        long to = powerKey(maxW, -1);
+        return new ArrayList<>(byPower.subMap(from, true, to, true).values());
     }
 
     /**
      * Знаходить прилади, чий діапазон випромінювання перетинається із запитом {@code [minMHz; maxMHz]}.
+     * Прилади повертаються в порядку додавання.
      *
      * @param minMHz нижня межа запиту, МГц
      * @param maxMHz верхня межа запиту, МГц
@@ -317,9 +638,10 @@ class Apartment {
      * @throws IllegalArgumentException якщо межі запиту некоректні
      */
     public List<Appliance> findByEmission(double minMHz, double maxMHz) {
-        List<Appliance> result = new ArrayList<>();
-        for (Appliance a : devices)
-            if (a.emission.intersects(minMHz, maxMHz)) result.add(a);
+        EmissionRange.checkQuery(minMHz, maxMHz);
+        int[] slots = emissionIndex.findOverlapping(minMHz, maxMHz);
+        List<Appliance> result = new ArrayList<>(slots.length);
+        for (int slot : slots) result.add(devices.get(slot));
         return result;
     }
 }
@@ -350,12 +672,11 @@ public class Laba5 {
             apartment.add(new Fridge("Bosch", 300, new EmissionRange(0, 10)));
             apartment.add(new Laptop("HP", 90, new EmissionRange(2400, 5800)));
 
-            // Вмикаємо частину приладів
-            for (Appliance a : apartment.all()) {
-                if (a.getName().equals("Tefal") || a.getName().equals("Samsung")) {
-                 a.plugIn();
-                }
-            }
+            // Вмикаємо частину приладів одним пакетом
+            Apartment.SwitchResult switched = apartment.switchAll(
+                    a -> a.getName().equals("Tefal") || a.getName().equals("Samsung"), true);
+            System.out.println("\nУвімкнено приладів: " + switched.switched()
+                    + " (+" + switched.deltaW() + " Вт)");
 
             // Сортування за потужністю
             System.out.println("\nСортування за потужністю:");
@@ -419,3 +740,59 @@ public class Laba5 {
         }
     }
 }
+
+/**
+ * Стрес-перевірка інкрементальної {@link Apartment#totalPower()}: багато потоків одночасно
+ * перемикають спільні прилади, після чого кешована сума порівнюється з повним перерахунком.
+ *
+ * <p>Запуск: {@code java ApartmentPowerStress [потоків] [перемикань на потік]}.
+ */
+class ApartmentPowerStress {
+
+    /** Кількість приладів у квартирі. */
+    private static final int DEVICES = 10_000;
+
+    public static void main(String[] args) throws InterruptedException {
+        int threads = args.length > 0 ? Integer.parseInt(args[0])
+                : Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+        int togglesPerThread = args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000;
+
+        Apartment apartment = new Apartment();
+        for (int i = 0; i < DEVICES; i++) {
+            apartment.add(new Kettle("Kettle-" + i, 100 + i % 2000, new EmissionRange(0, 5)));
+        }
+        List<Appliance> devices = apartment.all();
+
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            final long seed = 31L * t + 7;
+            workers[t] = new Thread(() -> {
+                java.util.SplittableRandom rnd = new java.util.SplittableRandom(seed);
+                for (int i = 0; i < togglesPerThread; i++) {
+                    Appliance a = devices.get(rnd.nextInt(DEVICES));
+                    // plugIn/unplug синхронізовані на приладі, тож перевірка і дія атомарні.
+                    synchronized (a) {
+                        if (a.isPlugged()) a.unplug();
+                        else a.plugIn();
+                    }
+                }
+            });
+        }
+        long t0 = System.nanoTime();
+        for (Thread w : workers) w.start();
+        for (Thread w : workers) w.join();
+        long elapsed = System.nanoTime() - t0;
+
+        long expected = 0;
+        for (Appliance a : devices) expected += a.currentPower();
+        long cached = apartment.totalPower();
+
+        System.out.printf("Потоків: %d, перемикань: %d, час: %.1f мс%n",
+                threads, (long) threads * togglesPerThread, elapsed / 1e6);
+        System.out.println("Кешована сума: " + cached + " Вт, перерахунок: " + expected + " Вт");
+        if (cached != expected) {
+            throw new IllegalStateException("Розбіжність сумарної потужності: " + cached + " != " + expected);
+        }
+        System.out.println("OK");
+    }
+}
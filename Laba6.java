@@ -1,10 +1,12 @@
 import java.util.Collection;
+import java.util.ConcurrentModificationException;
 import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Spliterator;
+import java.util.function.Consumer;
 
 /**
  * ЛР6: Робота з колекціями в мові Java.
@@ -31,9 +33,19 @@ class ApplianceList implements List<Appliance> {
     /** Голова списку (перший елемент) або {@code null}, якщо список порожній. */
     private Node head;
 
+    /** Хвіст списку (останній елемент) або {@code null}, якщо список порожній. */
+    private Node tail;
+
     /** Поточна кількість елементів у списку. */
     private int size;
 
+    /**
+     * Лічильник структурних змін (додавання/видалення). Ітератори запам’ятовують його
+     * при створенні й кидають {@link ConcurrentModificationException}, якщо список
+     * змінили в обхід них.
+     */
+    private int modCount;
+
     // -------------------------------------------------------------------------
     // Конструктори
     // -------------------------------------------------------------------------
@@ -90,27 +102,85 @@ class ApplianceList implements List<Appliance> {
 
     private void linkLast(Appliance a) {
         Node newNode = new Node(a, null);
-        if (head == null) {
+        if (tail == null) {
             head = newNode;
         } else {
-            Node tail = head;
-            while (tail.next != null) {
-                tail = tail.next;
-            }
             tail.next = newNode;
         }
+        tail = newNode;
+        modCount++;
         size++;
     }
 
     private void linkAt(int index, Appliance a) {
         checkPositionIndex(index);
-        if (index == 0) {
-            head = new Node(a, head);
+        if (index == size) {
+            linkLast(a);
+            return;
+        }
+        linkAfter((index == 0) ? null : nodeAt(index - 1), a);
+    }
+
+    /**
+     * Вставляє прилад одразу після вузла {@code prev} ({@code null} — на початок списку).
+     *
+     * @return новий вузол
+     */
+    private Node linkAfter(Node prev, Appliance a) {
+        Node newNode = new Node(a, (prev == null) ? head : prev.next);
+        if (prev == null) {
+            head = newNode;
         } else {
-            Node prev = nodeAt(index - 1);
-            prev.next = new Node(a, prev.next);
+            prev.next = newNode;
+        }
+        if (newNode.next == null) {
+            tail = newNode;
         }
+        modCount++;
         size++;
+        return newNode;
+    }
+
+    /**
+     * Вставляє всі елементи колекції одним ланцюжком після вузла {@code prev}
+     * ({@code null} — на початок списку). Сам ланцюжок будується за один прохід,
+     * тому вставка займає O(k), а не O(k·n).
+     *
+     * @param prev вузол, після якого вставляємо, або {@code null}
+     * @param c    колекція приладів (елементи не {@code null})
+     * @return {@code true}, якщо список змінився
+     * @throws NullPointerException якщо колекція містить {@code null}
+     */
+    private boolean linkAllAfter(Node prev, Collection<? extends Appliance> c) {
+        Node first = null;
+        Node last = null;
+        int added = 0;
+        for (Appliance a : c) {
+            Node newNode = new Node(Objects.requireNonNull(a, "Прилад не може бути null"), null);
+            if (first == null) {
+                first = newNode;
+            } else {
+                last.next = newNode;
+            }
+            last = newNode;
+            added++;
+        }
+        if (first == null) {
+            return false;
+        }
+        Node after = (prev == null) ? head : prev.next;
+        last.next = after;
+        if (prev == null) {
+            head = first;
+        } else {
+            prev.next = first;
+        }
+        if (after == null) {
+            tail = last;
+        }
+        modCount++;
+        size += added;
+        return true;
     }
 
     private Appliance unlink(Node prev, Node target) {
@@ -120,6 +190,10 @@ class ApplianceList implements List<Appliance> {
         } else {
             prev.next = target.next;
         }
+        if (target == tail) {
+            tail = prev;
+        }
+        modCount++;
         size--;
         return item;
     }
@@ -148,9 +222,10 @@ class ApplianceList implements List<Appliance> {
         return new Itr();
     }
 
-    /** Простіший ітератор: тільки вперед, без remove. */
+    /** Простіший ітератор: тільки вперед, без remove; fail-fast за {@code modCount}. */
     private final class Itr implements Iterator<Appliance> {
         Node current = head;
+        final int expectedModCount = modCount;
 
         @Override
         public boolean hasNext() {
@@ -159,6 +234,9 @@ class ApplianceList implements List<Appliance> {
 
         @Override
         public Appliance next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
             if (current == null) {
                 throw new NoSuchElementException();
             }
@@ -229,22 +307,13 @@ class ApplianceList implements List<Appliance> {
 
     @Override
     public boolean addAll(Collection<? extends Appliance> c) {
-        boolean modified = false;
-        for (Appliance a : c) {
-            add(a);
-            modified = true;
-        }
-        return modified;
+        return linkAllAfter(tail, c);
     }
 
     @Override
     public boolean addAll(int index, Collection<? extends Appliance> c) {
         checkPositionIndex(index);
-        int i = index;
-        for (Appliance a : c) {
-            linkAt(i++, a);
-        }
-        return !c.isEmpty();
+        return linkAllAfter((index == 0) ? null : nodeAt(index - 1), c);
     }
 
     @Override
@@ -288,6 +357,8 @@ class ApplianceList implements List<Appliance> {
     @Override
     public void clear() {
         head = null;
+        tail = null;
+        modCount++;
         size = 0;
     }
 
@@ -300,6 +371,7 @@ class ApplianceList implements List<Appliance> {
     @Override
     public Appliance set(int index, Appliance element) {
         checkElementIndex(index);
+        Objects.requireNonNull(element, "Прилад не може бути null");
         Node x = nodeAt(index);
         Appliance old = x.item;
         x.item = element;
@@ -308,7 +380,7 @@ class ApplianceList implements List<Appliance> {
 
     @Override
     public void add(int index, Appliance element) {
-        linkAt(index, element);
+        linkAt(index, Objects.requireNonNull(element, "Прилад не може бути null"));
     }
 
     @Override
@@ -344,15 +416,146 @@ class ApplianceList implements List<Appliance> {
         return res;
     }
 
-    // Ці методи можна спростити: для лабораторної достатньо заглушок.
     @Override
     public ListIterator<Appliance> listIterator() {
-        throw new UnsupportedOperationException("listIterator() не реалізовано");
+        return new ListItr(0);
     }
 
     @Override
     public ListIterator<Appliance> listIterator(int index) {
-        throw new UnsupportedOperationException("listIterator(int) не реалізовано ");
+        checkPositionIndex(index);
+        return new ListItr(index);
+    }
+
+    /**
+     * Двонапрямлений ітератор для однозв’язного списку.
+     *
+     * <p>Зворотних посилань у вузлах немає, тому ітератор запам’ятовує вже пройдені
+     * вузли у стеку {@code path}: {@code path.get(k)} — вузол з індексом {@code k}.
+     * Крок уперед або назад, а також {@code set}, {@code add} і {@code remove}
+     * виконуються за O(1) (амортизовано), без повторного проходу від голови.
+     * Пам’ять — O(k), де k — найбільший індекс, до якого дійшов ітератор.
+     */
+    private final class ListItr implements ListIterator<Appliance> {
+        /** Пройдені вузли: {@code path.get(k)} має індекс {@code k}. */
+        private final java.util.ArrayList<Node> path;
+        /** Індекс елемента, який поверне {@link #next()}. */
+        private int cursor;
+        /** Індекс останнього повернутого елемента або -1. */
+        private int lastRet = -1;
+        /** Очікуване значення {@code modCount}; змінюється лише власними операціями ітератора. */
+        private int expectedModCount = modCount;
+
+        ListItr(int index) {
+            path = new java.util.ArrayList<>(Math.max(16, index));
+            Node x = head;
+            for (int i = 0; i < index; i++) {
+                path.add(x);
+                x = x.next;
+            }
+            cursor = index;
+        }
+
+        /** Вузол, що стоїть одразу за курсором, або {@code null}. */
+        private Node nodeAfterCursor() {
+            if (cursor < path.size()) {
+                return path.get(cursor);
+            }
+            return (cursor == 0) ? head : path.get(cursor - 1).next;
+        }
+
+        private void checkForComodification() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+
+        /** Відкидає з кешу всі вузли з індексом {@code >= from}. */
+        private void truncatePath(int from) {
+            if (from < path.size()) {
+                path.subList(from, path.size()).clear();
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return cursor < size;
+        }
+
+        @Override
+        public Appliance next() {
+            checkForComodification();
+            if (cursor >= size) {
+                throw new NoSuchElementException();
+            }
+            Node x = nodeAfterCursor();
+            if (cursor == path.size()) {
+                path.add(x);
+            }
+            lastRet = cursor++;
+            return x.item;
+        }
+
+        @Override
+        public boolean hasPrevious() {
+            return cursor > 0;
+        }
+
+        @Override
+        public Appliance previous() {
+            checkForComodification();
+            if (cursor <= 0) {
+                throw new NoSuchElementException();
+            }
+            lastRet = --cursor;
+            return path.get(cursor).item;
+        }
+
+        @Override
+        public int nextIndex() {
+            return cursor;
+        }
+
+        @Override
+        public int previousIndex() {
+            return cursor - 1;
+        }
+
+        @Override
+        public void remove() {
+            if (lastRet < 0) {
+                throw new IllegalStateException();
+            }
+            checkForComodification();
+            Node prev = (lastRet == 0) ? null : path.get(lastRet - 1);
+            unlink(prev, path.get(lastRet));
+            truncatePath(lastRet);
+            cursor = lastRet;
+            lastRet = -1;
+            expectedModCount = modCount;
+        }
+
+        @Override
+        public void set(Appliance appliance) {
+            if (lastRet < 0) {
+                throw new IllegalStateException();
+            }
+            checkForComodification();
+            path.get(lastRet).item = Objects.requireNonNull(appliance, "Прилад не може бути null");
+        }
+
+        @Override
+        public void add(Appliance appliance) {
+            Objects.requireNonNull(appliance, "Прилад не може бути null");
+            checkForComodification();
+            Node prev = (cursor == 0) ? null : path.get(cursor - 1);
+            Node newNode = linkAfter(prev, appliance);
+            truncatePath(cursor);
+            path.add(newNode);
+            cursor++;
+            lastRet = -1;
+            expectedModCount = modCount;
+        }
     }
 
     @Override
@@ -379,109 +582,1217 @@ class ApplianceList implements List<Appliance> {
 
     @Override
     public Spliterator<Appliance> spliterator() {
-        throw new UnsupportedOperationException("spliterator() не реалізовано ");
+        return new ApplianceSpliterator();
     }
-}
-
-/**
- * Головний клас ЛР6.
- *
- * У виконавчому методі демонструється використання {@link ApplianceList}
- * разом із ієрархією приладів з ЛР5.
- */
-public class Laba6 {
 
     /**
-     * Точка входу: створення власної колекції {@link ApplianceList},
-     * наповнення її приладами та базові операції.
+     * Сплітератор для однозв’язного списку (аналог {@code LinkedList.LLSpliterator}).
      *
-     * @param args не використовується
+     * <p>{@link #trySplit()} копіює у масив пакет елементів, розмір якого щоразу
+     * збільшується на {@link #BATCH_UNIT}, і віддає його як {@code Spliterators.spliterator}.
+     * Так паралельні потоки отримують роботу без довільного доступу за індексом.
+     * Прив’язка до списку відбувається при першому використанні (late-binding).
      */
+    private final class ApplianceSpliterator implements Spliterator<Appliance> {
+        /** Крок приросту розміру пакета. */
+        private static final int BATCH_UNIT = 1 << 10;
+        /** Максимальний розмір пакета. */
+        private static final int MAX_BATCH = 1 << 25;
 
-    /** Розділювач для виводу. */
-    private static final String SEP = "-*".repeat(30);
-    public static void main(String[] args) {
-        try {
-            // 1. Створення порожньої колекції
-            ApplianceList list = new ApplianceList();
-    
-            // 2. Додаємо кілька приладів 
-            list.add(new Kettle("Tefal", 2000, new EmissionRange(0, 5)));
-            list.add(new Microwave("Samsung", 1500, new EmissionRange(2400, 2500)));
-            list.add(new TV("LG", 180, new EmissionRange(470, 860)));
-            list.add(new Kettle("Tefal", 2000, new EmissionRange(0, 5)));
-            list.add(new Microwave("Samsung", 1500, new EmissionRange(2400, 2500)));
-            list.add(new TV("LG", 180, new EmissionRange(470, 860)));
-            list.add(new Fridge("Bosch", 300, new EmissionRange(0, 10)));
-            list.add(new Laptop("HP", 90, new EmissionRange(2400, 5800)));
+        /** Поточний вузол; {@code null} до першого використання або після завершення. */
+        private Node current;
+        /** Оцінка кількості елементів, що залишилися; -1 — ще не ініціалізовано. */
+        private int est = -1;
+        /** Розмір наступного пакета для {@link #trySplit()}. */
+        private int batch;
+        /** Значення {@code modCount} на момент прив’язки до списку. */
+        private int expectedModCount;
 
-            System.out.println(SEP);
-            System.out.println("Початковий список приладів:");
-            for (int i = 0; i < list.size(); i++) {
-                System.out.println(" [" + i + "] " + list.get(i));
+        private int getEst() {
+            if (est < 0) {
+                est = size;
+                current = head;
+                expectedModCount = modCount;
             }
-    
-            // 3. Конструктор від одного елемента
-            Appliance kettle = new Kettle("Philips", 2200, new EmissionRange(0, 5));
-            ApplianceList one = new ApplianceList(kettle);
-            System.out.println(SEP);
-            System.out.println("\nКолекція, створена від одного приладу:");
-            for (Appliance a : one) {
-                System.out.println(" - " + a);
+            return est;
+        }
+
+        @Override
+        public long estimateSize() {
+            return getEst();
+        }
+
+        @Override
+        public Spliterator<Appliance> trySplit() {
+            int s = getEst();
+            if (s > 1 && current != null) {
+                int n = Math.min(batch + BATCH_UNIT, Math.min(s, MAX_BATCH));
+                Object[] a = new Object[n];
+                Node p = current;
+                int j = 0;
+                do {
+                    a[j++] = p.item;
+                    p = p.next;
+                } while (p != null && j < n);
+                current = p;
+                batch = j;
+                est = s - j;
+                return java.util.Spliterators.spliterator(a, 0, j, characteristics());
             }
-    
-            // 4. Конструктор від стандартної колекції (subList з java.util.List)
-            List<Appliance> sub = list.subList(1, 4);
-            ApplianceList copy = new ApplianceList(sub);
-            System.out.println(SEP);
-            System.out.println("\nКолекція, створена зі стандартного subList(1,4) іншої колекції:");
-            for (int i = 0; i < copy.size(); i++) {
-                int originalIndex = 1 + i; 
-                System.out.println(" [" + originalIndex + "] " + copy.get(i));
+            return null;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Appliance> action) {
+            Objects.requireNonNull(action);
+            if (getEst() > 0 && current != null) {
+                Appliance item = current.item;
+                current = current.next;
+                est--;
+                action.accept(item);
+                if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+                return true;
             }
-    
-            // 5. Приклад операцій зі списком
-            System.out.println(SEP);
-            System.out.println("\nЕлемент з індексом 2 у початковому списку:");
-            System.out.println(" * " + list.get(2));
-    
-            // Заміна елемента 
-            System.out.println("\nЗамінюємо елемент з індексом 1:");
-            Appliance old = list.get(1);
-            Appliance newTV = new TV("Sony", 200, new EmissionRange(470, 860));
-            System.out.println("   Було: " + old);
-            System.out.println("   Стає: " + newTV);
-            list.set(1, newTV);
-    
-            System.out.println("\nСписок після заміни:");
-            for (int i = 0; i < list.size(); i++) {
-                System.out.println(" [" + i + "] " + list.get(i));
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super Appliance> action) {
+            Objects.requireNonNull(action);
+            int n = getEst();
+            Node p = current;
+            current = null;
+            est = 0;
+            for (; p != null && n > 0; p = p.next, n--) {
+                action.accept(p.item);
             }
-    
-            // Пошук індексу холодильника 
-            System.out.println(SEP);
-            int fridgeIndex = list.indexOf(new Fridge("Bosch", 300, new EmissionRange(0, 10)));
-            System.out.println("\nІндекс холодильника Bosch: " + fridgeIndex);
-    
-            // Видалення елемента 
-            System.out.println(SEP);
-            System.out.println("\nВидаляємо елемент з індексом 0:");
-            Appliance toRemove = list.get(0);
-            System.out.println("   Це елемент: " + toRemove);
-            list.remove(0);
-    
-            System.out.println("\nСписок після видалення першого елемента:");
-            for (int i = 0; i < list.size(); i++) {
-                System.out.println(" [" + i + "] " + list.get(i));
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
             }
-    
-        } catch (IndexOutOfBoundsException e) {
-            System.err.println("Помилка індексу: " + e.getMessage());
-        } catch (IllegalArgumentException e) {
-            System.err.println("Помилка аргументів: " + e.getMessage());
-        } catch (Exception e) {
-            System.err.println("Непередбачена помилка: " + e.getMessage());
-            e.printStackTrace();
         }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.NONNULL;
+        }
+    }
+}
+
+/**
+ * Список приладів на основі суцільного масиву, що росте (аналог {@link java.util.ArrayList}).
+ *
+ * <p>На відміну від {@link ApplianceList}, {@code get}/{@code set} за індексом виконуються
+ * за O(1), а послідовний обхід іде по сусідніх комірках пам’яті. Вставка та видалення
+ * не з кінця коштують O(n) через зсув елементів. Елементи {@code null} не допускаються.
+ */
+class ApplianceArrayList extends java.util.AbstractList<Appliance> implements java.util.RandomAccess {
+
+    /** Початкова місткість масиву. */
+    private static final int DEFAULT_CAPACITY = 10;
+
+    /** Порожній масив для ще не заповненого списку. */
+    private static final Appliance[] EMPTY = {};
+
+    /** Елементи списку; комірки {@code [size; elements.length)} порожні. */
+    private Appliance[] elements;
+
+    /** Поточна кількість елементів. */
+    private int size;
+
+    /** Порожній конструктор: створює пустий список. */
+    public ApplianceArrayList() {
+        elements = EMPTY;
+    }
+
+    /**
+     * Створює пустий список заданої початкової місткості.
+     *
+     * @param initialCapacity початкова місткість (>= 0)
+     * @throws IllegalArgumentException якщо {@code initialCapacity < 0}
+     */
+    public ApplianceArrayList(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Місткість не може бути від’ємною: " + initialCapacity);
+        }
+        elements = (initialCapacity == 0) ? EMPTY : new Appliance[initialCapacity];
+    }
+
+    /**
+     * Конструктор від стандартної колекції приладів.
+     *
+     * @param source колекція-джерело
+     * @throws NullPointerException якщо {@code source == null} або містить {@code null}
+     */
+    public ApplianceArrayList(Collection<? extends Appliance> source) {
+        Objects.requireNonNull(source, "Колекція-джерело не може бути null");
+        elements = EMPTY;
+        addAll(source);
+    }
+
+    private void checkElementIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+        }
+    }
+
+    private void checkPositionIndex(int index) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+        }
+    }
+
+    /** Гарантує місткість щонайменше {@code minCapacity}, збільшуючи масив у 1.5 раза. */
+    private void ensureCapacity(int minCapacity) {
+        if (minCapacity > elements.length) {
+            int grown = elements.length + (elements.length >> 1);
+            int capacity = Math.max(Math.max(grown, minCapacity), DEFAULT_CAPACITY);
+            elements = java.util.Arrays.copyOf(elements, capacity);
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Appliance get(int index) {
+        checkElementIndex(index);
+        return elements[index];
+    }
+
+    @Override
+    public Appliance set(int index, Appliance element) {
+        checkElementIndex(index);
+        Objects.requireNonNull(element, "Прилад не може бути null");
+        Appliance old = elements[index];
+        elements[index] = element;
+        return old;
+    }
+
+    @Override
+    public boolean add(Appliance appliance) {
+        Objects.requireNonNull(appliance, "Прилад не може бути null");
+        modCount++;
+        ensureCapacity(size + 1);
+        elements[size++] = appliance;
+        return true;
     }
-}
\ No newline at end of file
+
+    @Override
+    public void add(int index, Appliance element) {
+        checkPositionIndex(index);
+        Objects.requireNonNull(element, "Прилад не може бути null");
+        modCount++;
+        ensureCapacity(size + 1);
+        System.arraycopy(elements, index, elements, index + 1, size - index);
+        elements[index] = element;
+        size++;
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends Appliance> c) {
+        return addAll(size, c);
+    }
+
+    @Override
+    public boolean addAll(int index, Collection<? extends Appliance> c) {
+        checkPositionIndex(index);
+        Object[] added = c.toArray();
+        for (Object o : added) {
+            Objects.requireNonNull(o, "Прилад не може бути null");
+        }
+        if (added.length == 0) {
+            return false;
+        }
+        modCount++;
+        ensureCapacity(size + added.length);
+        System.arraycopy(elements, index, elements, index + added.length, size - index);
+        System.arraycopy(added, 0, elements, index, added.length);
+        size += added.length;
+        return true;
+    }
+
+    @Override
+    public Appliance remove(int index) {
+        checkElementIndex(index);
+        modCount++;
+        Appliance old = elements[index];
+        System.arraycopy(elements, index + 1, elements, index, size - index - 1);
+        elements[--size] = null;
+        return old;
+    }
+
+    @Override
+    public boolean removeIf(java.util.function.Predicate<? super Appliance> filter) {
+        Objects.requireNonNull(filter);
+        // спершу лише перевірка (як ArrayList.removeIf): якщо фільтр кине виняток, список не зміниться
+        int expected = modCount;
+        java.util.BitSet removed = new java.util.BitSet(size);
+        for (int i = 0; i < size && modCount == expected; i++) {
+            if (filter.test(elements[i])) {
+                removed.set(i);
+            }
+        }
+        if (modCount != expected) {
+            throw new java.util.ConcurrentModificationException();
+        }
+        if (removed.isEmpty()) {
+            return false;
+        }
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            if (!removed.get(i)) {
+                elements[kept++] = elements[i];
+            }
+        }
+        modCount++;
+        java.util.Arrays.fill(elements, kept, size, null);
+        size = kept;
+        return true;
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        Objects.requireNonNull(c);
+        return removeIf(c::contains);
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        Objects.requireNonNull(c);
+        return removeIf(a -> !c.contains(a));
+    }
+
+    @Override
+    public void clear() {
+        modCount++;
+        java.util.Arrays.fill(elements, 0, size, null);
+        size = 0;
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        for (int i = 0; i < size; i++) {
+            if (elements[i].equals(o)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int lastIndexOf(Object o) {
+        for (int i = size - 1; i >= 0; i--) {
+            if (elements[i].equals(o)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public Object[] toArray() {
+        return java.util.Arrays.copyOf(elements, size, Object[].class);
+    }
+
+    @Override
+    public void forEach(Consumer<? super Appliance> action) {
+        Objects.requireNonNull(action);
+        int expected = modCount;
+        for (int i = 0; i < size && modCount == expected; i++) {
+            action.accept(elements[i]);
+        }
+        if (modCount != expected) {
+            throw new java.util.ConcurrentModificationException();
+        }
+    }
+
+    @Override
+    public Spliterator<Appliance> spliterator() {
+        return new ArraySpliterator(0, -1, 0);
+    }
+
+    /**
+     * Сплітератор як у {@code ArrayList}: межа та {@code modCount} фіксуються при першому
+     * використанні (late-binding), а зміна списку під час обходу дає
+     * {@link java.util.ConcurrentModificationException}.
+     */
+    private final class ArraySpliterator implements Spliterator<Appliance> {
+        /** Поточний індекс; змінюється в {@link #tryAdvance} і {@link #trySplit}. */
+        private int index;
+        /** Індекс за останнім елементом; -1 — ще не прив’язано до списку. */
+        private int fence;
+        private int expectedModCount;
+
+        ArraySpliterator(int origin, int fence, int expectedModCount) {
+            this.index = origin;
+            this.fence = fence;
+            this.expectedModCount = expectedModCount;
+        }
+
+        private int getFence() {
+            if (fence < 0) {
+                expectedModCount = modCount;
+                fence = size;
+            }
+            return fence;
+        }
+
+        @Override
+        public Spliterator<Appliance> trySplit() {
+            int hi = getFence();
+            int lo = index;
+            int mid = (lo + hi) >>> 1;
+            return lo >= mid ? null : new ArraySpliterator(lo, index = mid, expectedModCount);
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Appliance> action) {
+            Objects.requireNonNull(action);
+            int hi = getFence();
+            int i = index;
+            if (i < hi) {
+                index = i + 1;
+                action.accept(elements[i]);
+                if (modCount != expectedModCount) {
+                    throw new java.util.ConcurrentModificationException();
+                }
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super Appliance> action) {
+            Objects.requireNonNull(action);
+            int hi = getFence();
+            Appliance[] a = elements;
+            int i = index;
+            index = hi;
+            if (hi <= a.length) {
+                for (; i < hi && modCount == expectedModCount; i++) {
+                    action.accept(a[i]);
+                }
+            }
+            if (modCount != expectedModCount) {
+                throw new java.util.ConcurrentModificationException();
+            }
+        }
+
+        @Override
+        public long estimateSize() {
+            return getFence() - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.NONNULL;
+        }
+    }
+}
+
+/**
+ * Фабрика списків приладів: обирає внутрішнє сховище за заявленим шаблоном доступу.
+ */
+final class ApplianceLists {
+
+    /** Очікуваний шаблон доступу до списку. */
+    enum AccessPattern {
+        /**
+         * Переважно обхід ітератором, додавання в кінець та вставки/видалення під час обходу —
+         * зв’язний {@link ApplianceList}.
+         */
+        SEQUENTIAL,
+        /**
+         * Часті звернення за індексом і повні проходи по даних —
+         * масив {@link ApplianceArrayList}.
+         */
+        RANDOM_ACCESS,
+        /**
+         * Спільний доступ із багатьох потоків, переважно паралельні додавання в кінець
+         * та обхід — {@link ConcurrentApplianceList}.
+         */
+        CONCURRENT
+    }
+
+    private ApplianceLists() { }
+
+    /**
+     * Створює порожній список із відповідним сховищем.
+     *
+     * @param pattern шаблон доступу
+     * @return новий список
+     * @throws NullPointerException якщо {@code pattern == null}
+     */
+    static List<Appliance> create(AccessPattern pattern) {
+        return create(pattern, List.of());
+    }
+
+    /**
+     * Створює список із відповідним сховищем і заповнює його елементами колекції.
+     *
+     * @param pattern шаблон доступу
+     * @param source  колекція-джерело
+     * @return новий список
+     * @throws NullPointerException якщо {@code pattern == null} або {@code source == null}
+     */
+    static List<Appliance> create(AccessPattern pattern, Collection<? extends Appliance> source) {
+        Objects.requireNonNull(pattern, "Шаблон доступу не може бути null");
+        return switch (pattern) {
+            case SEQUENTIAL -> new ApplianceList(source);
+            case RANDOM_ACCESS -> new ApplianceArrayList(source);
+            case CONCURRENT -> new ConcurrentApplianceList(source);
+        };
+    }
+}
+
+/**
+ * Потокобезпечний список приладів для багатопотокового збору телеметрії.
+ *
+ * <p>Внутрішньо — однозв’язний список із фіктивною головою в стилі черги Майкла–Скотта:
+ * {@link #add(Appliance)} додає вузол у кінець без блокувань (CAS на {@code tail.next},
+ * потім «підтягування» {@code tail}), тож письменники на різних ядрах не чекають один
+ * на одного на спільному моніторі.
+ *
+ * <p>Видалення та {@code set} — логічні: елемент вузла атомарно замінюється
+ * (на {@code null} при видаленні). Вузли-«надгробки» вирізаються з ланцюжка під час
+ * будь-якого обходу CAS-ом на {@code next} попередника, як у
+ * {@link java.util.concurrent.ConcurrentLinkedQueue}; лишається хіба що останній вузол,
+ * бо після нього додаються нові.
+ *
+ * <p>Ітератор — знімок за додаваннями: він бачить лише елементи, додані до його створення,
+ * і ніколи не кидає {@link ConcurrentModificationException}. Видалення, що відбуваються
+ * під час обходу, можуть бути як видимі, так і невидимі (слабка узгодженість, як у
+ * {@link java.util.concurrent.ConcurrentLinkedQueue}). {@link #listIterator(int)} обходить
+ * знімок живих елементів і підтримує лише {@code set} (тож працюють {@code Collections.sort}
+ * і {@code replaceAll}). Вставка за індексом не підтримується.
+ */
+class ConcurrentApplianceList extends java.util.AbstractList<Appliance> {
+
+    /** Вузол списку; {@code item == null} означає, що елемент видалено. */
+    private static final class Node {
+        volatile Appliance item;
+        volatile Node next;
+        /** Порядковий номер додавання: зростає вздовж ланцюжка і не змінюється при вирізанні. */
+        long seq;
+
+        Node(Appliance item) {
+            this.item = item;
+        }
+    }
+
+    private static final java.lang.invoke.VarHandle ITEM;
+    private static final java.lang.invoke.VarHandle NEXT;
+    private static final java.lang.invoke.VarHandle HEAD;
+    private static final java.lang.invoke.VarHandle TAIL;
+
+    static {
+        try {
+            java.lang.invoke.MethodHandles.Lookup l = java.lang.invoke.MethodHandles.lookup();
+            ITEM = l.findVarHandle(Node.class, "item", Appliance.class);
+            NEXT = l.findVarHandle(Node.class, "next", Node.class);
+            HEAD = l.findVarHandle(ConcurrentApplianceList.class, "head", Node.class);
+            TAIL = l.findVarHandle(ConcurrentApplianceList.class, "tail", Node.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /** Фіктивний вузол перед першим елементом. */
+    private volatile Node head;
+
+    /** Останній або майже останній вузол (може відставати на кілька кроків). */
+    private volatile Node tail;
+
+    /** Кількість живих елементів; {@link java.util.concurrent.atomic.LongAdder} не стає точкою конкуренції. */
+    private final java.util.concurrent.atomic.LongAdder count = new java.util.concurrent.atomic.LongAdder();
+
+    /** Порожній конструктор: створює пустий список. */
+    public ConcurrentApplianceList() {
+        head = tail = new Node(null);
+    }
+
+    /**
+     * Конструктор від стандартної колекції приладів.
+     *
+     * @param source колекція-джерело
+     * @throws NullPointerException якщо {@code source == null} або містить {@code null}
+     */
+    public ConcurrentApplianceList(Collection<? extends Appliance> source) {
+        this();
+        Objects.requireNonNull(source, "Колекція-джерело не може бути null");
+        addAll(source);
+    }
+
+    @Override
+    public boolean add(Appliance appliance) {
+        Node newNode = new Node(Objects.requireNonNull(appliance, "Прилад не може бути null"));
+        for (Node t = tail, p = t; ; ) {
+            Node q = p.next;
+            if (q == null) {
+                newNode.seq = p.seq + 1;
+                if (NEXT.compareAndSet(p, null, newNode)) {
+                    // Якщо tail відстав, підтягуємо його; невдача означає, що допоміг інший потік.
+                    if (p != t) {
+                        TAIL.compareAndSet(this, t, newNode);
+                    }
+                    count.increment();
+                    return true;
+                }
+            } else {
+                // Хтось уже додав вузол: якщо tail тим часом зсунули — стрибаємо на нього,
+                // інакше йдемо далі по ланцюжку.
+                p = (p != t && t != (t = tail)) ? t : q;
+            }
+        }
+    }
+
+    /** Останній вузол на поточний момент. */
+    private Node last() {
+        Node t = tail;
+        Node p = t;
+        for (Node q; (q = p.next) != null; ) {
+            p = q;
+        }
+        if (p != t) {
+            TAIL.compareAndSet(this, t, p);
+        }
+        return p;
+    }
+
+    /** Відкидає «надгробки» на початку списку, зсуваючи фіктивну голову. */
+    private void skipDeadHead() {
+        for (Node h = head, first; (first = h.next) != null && first.item == null; h = head) {
+            HEAD.compareAndSet(this, h, first);
+        }
+    }
+
+    /**
+     * Наступний за {@code pred} вузол, пропускаючи «надгробки» й вирізаючи їх CAS-ом на
+     * {@code pred.next}. Останній вузол ланцюжка не вирізається, тож результат — живий вузол,
+     * останній (можливо, видалений) вузол або {@code null}. Видалений вузол ніколи не оживає,
+     * а вирізаний зберігає свій {@code next}, тому потоки, що стоять на ньому, доходять до ланцюжка.
+     */
+    private Node succ(Node pred) {
+        Node first = pred.next;
+        Node p = first;
+        while (p != null && p.item == null && p.next != null) {
+            p = p.next;
+        }
+        if (p != first) {
+            NEXT.compareAndSet(pred, first, p);
+        }
+        return p;
+    }
+
+    /**
+     * Атомарно видаляє елемент вузла, якщо він досі дорівнює {@code expected}.
+     *
+     * @return {@code true}, якщо видалення виконав саме цей виклик
+     */
+    private boolean removeNode(Node node, Appliance expected) {
+        if (expected != null && ITEM.compareAndSet(node, expected, null)) {
+            count.decrement();
+            skipDeadHead();
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public int size() {
+        return (int) Math.max(0, Math.min(Integer.MAX_VALUE, count.sum()));
+    }
+
+    @Override
+    public boolean isEmpty() {
+        for (Node p = succ(head); p != null; p = succ(p)) {
+            if (p.item != null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Живий вузол з індексом {@code index} або {@code null}, якщо такого немає. */
+    private Node liveNodeAt(int index) {
+        int i = 0;
+        for (Node p = succ(head); p != null; p = succ(p)) {
+            if (p.item != null && i++ == index) {
+                return p;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public Appliance get(int index) {
+        if (index >= 0) {
+            Node p = liveNodeAt(index);
+            Appliance item;
+            if (p != null && (item = p.item) != null) {
+                return item;
+            }
+        }
+        throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size());
+    }
+
+    @Override
+    public Appliance set(int index, Appliance element) {
+        Objects.requireNonNull(element, "Прилад не може бути null");
+        while (index >= 0) {
+            Node p = liveNodeAt(index);
+            if (p == null) {
+                break;
+            }
+            Appliance old = p.item;
+            if (old != null && ITEM.compareAndSet(p, old, element)) {
+                return old;
+            }
+            // Вузол змінили паралельно — шукаємо позицію заново.
+        }
+        throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size());
+    }
+
+    @Override
+    public Appliance remove(int index) {
+        while (index >= 0) {
+            Node p = liveNodeAt(index);
+            if (p == null) {
+                break;
+            }
+            Appliance old = p.item;
+            if (removeNode(p, old)) {
+                return old;
+            }
+        }
+        throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size());
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (o == null) {
+            return false;
+        }
+        for (Node p = succ(head); p != null; p = succ(p)) {
+            Appliance item = p.item;
+            if (item != null && item.equals(o) && removeNode(p, item)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean removeIf(java.util.function.Predicate<? super Appliance> filter) {
+        Objects.requireNonNull(filter);
+        boolean modified = false;
+        for (Node p = succ(head); p != null; p = succ(p)) {
+            Appliance item = p.item;
+            if (item != null && filter.test(item) && removeNode(p, item)) {
+                modified = true;
+            }
+        }
+        return modified;
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        Objects.requireNonNull(c);
+        return removeIf(c::contains);
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        Objects.requireNonNull(c);
+        return removeIf(a -> !c.contains(a));
+    }
+
+    @Override
+    public void clear() {
+        removeIf(a -> true);
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        int i = 0;
+        for (Node p = succ(head); p != null; p = succ(p)) {
+            Appliance item = p.item;
+            if (item != null) {
+                if (item.equals(o)) {
+                    return i;
+                }
+                i++;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int lastIndexOf(Object o) {
+        int i = 0;
+        int res = -1;
+        for (Node p = succ(head); p != null; p = succ(p)) {
+            Appliance item = p.item;
+            if (item != null) {
+                if (item.equals(o)) {
+                    res = i;
+                }
+                i++;
+            }
+        }
+        return res;
+    }
+
+    @Override
+    public Iterator<Appliance> iterator() {
+        return new SnapshotItr();
+    }
+
+    /**
+     * Повертає ітератор по знімку живих елементів на поточний момент. {@code set} замінює
+     * елемент у самому вузлі; {@code add} і {@code remove} не підтримуються.
+     */
+    @Override
+    public ListIterator<Appliance> listIterator(int index) {
+        return new SnapshotListItr(index);
+    }
+
+    @Override
+    public Spliterator<Appliance> spliterator() {
+        return java.util.Spliterators.spliteratorUnknownSize(iterator(),
+                Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.CONCURRENT);
+    }
+
+    /** Ітератор по вузлах, доданих до його створення; пропускає видалені. */
+    private final class SnapshotItr implements Iterator<Appliance> {
+        /** Вузол, після якого шукаємо наступний елемент (читається раніше за {@code end}). */
+        private Node cursor = head;
+        /** Номер останнього вузла знімка: вузол може бути вирізаний, а номер — ні. */
+        private final long end = last().seq;
+        /** Наступний живий вузол і його елемент (зафіксований у hasNext). */
+        private Node nextNode;
+        private Appliance nextItem;
+        /** Останній повернутий вузол та елемент — для {@link #remove()}. */
+        private Node lastNode;
+        private Appliance lastItem;
+
+        @Override
+        public boolean hasNext() {
+            while (nextNode == null) {
+                Node p = succ(cursor);
+                if (p == null || p.seq > end) {
+                    break;
+                }
+                cursor = p;
+                Appliance item = p.item;
+                if (item != null) {
+                    nextNode = p;
+                    nextItem = item;
+                }
+            }
+            return nextNode != null;
+        }
+
+        @Override
+        public Appliance next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            lastNode = nextNode;
+            lastItem = nextItem;
+            nextNode = null;
+            nextItem = null;
+            return lastItem;
+        }
+
+        @Override
+        public void remove() {
+            if (lastNode == null) {
+                throw new IllegalStateException();
+            }
+            removeNode(lastNode, lastItem);
+            lastNode = null;
+            lastItem = null;
+        }
+    }
+
+    /**
+     * Двонапрямний ітератор по знімку живих вузлів. {@link #set} атомарно замінює елемент вузла,
+     * якщо той досі містить повернутий елемент, інакше кидає {@link ConcurrentModificationException}.
+     */
+    private final class SnapshotListItr implements ListIterator<Appliance> {
+        private final Node[] nodes;
+        private final Appliance[] items;
+        private int cursor;
+        /** Індекс останнього повернутого елемента; -1 — немає. */
+        private int lastRet = -1;
+
+        SnapshotListItr(int index) {
+            java.util.ArrayList<Node> liveNodes = new java.util.ArrayList<>();
+            java.util.ArrayList<Appliance> liveItems = new java.util.ArrayList<>();
+            for (Node p = succ(head); p != null; p = succ(p)) {
+                Appliance item = p.item;
+                if (item != null) {
+                    liveNodes.add(p);
+                    liveItems.add(item);
+                }
+            }
+            nodes = liveNodes.toArray(new Node[0]);
+            items = liveItems.toArray(new Appliance[0]);
+            if (index < 0 || index > nodes.length) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", size: " + nodes.length);
+            }
+            cursor = index;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return cursor < nodes.length;
+        }
+
+        @Override
+        public Appliance next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            lastRet = cursor++;
+            return items[lastRet];
+        }
+
+        @Override
+        public boolean hasPrevious() {
+            return cursor > 0;
+        }
+
+        @Override
+        public Appliance previous() {
+            if (!hasPrevious()) {
+                throw new NoSuchElementException();
+            }
+            lastRet = --cursor;
+            return items[lastRet];
+        }
+
+        @Override
+        public int nextIndex() {
+            return cursor;
+        }
+
+        @Override
+        public int previousIndex() {
+            return cursor - 1;
+        }
+
+        @Override
+        public void set(Appliance appliance) {
+            Objects.requireNonNull(appliance, "Прилад не може бути null");
+            if (lastRet < 0) {
+                throw new IllegalStateException();
+            }
+            if (!ITEM.compareAndSet(nodes[lastRet], items[lastRet], appliance)) {
+                throw new ConcurrentModificationException();
+            }
+            items[lastRet] = appliance;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("Видалення через ListIterator не підтримується");
+        }
+
+        @Override
+        public void add(Appliance appliance) {
+            throw new UnsupportedOperationException("Вставка за індексом не підтримується");
+        }
+    }
+}
+
+/**
+ * Головний клас ЛР6.
+ *
+ * У виконавчому методі демонструється використання {@link ApplianceList}
+ * разом із ієрархією приладів з ЛР5.
+ */
+public class Laba6 {
+
+    /**
+     * Точка входу: створення власної колекції {@link ApplianceList},
+     * наповнення її приладами та базові операції.
+     *
+     * @param args не використовується
+     */
+
+    /** Розділювач для виводу. */
+    private static final String SEP = "-*".repeat(30);
+    public static void main(String[] args) {
+        try {
+            // 1. Створення порожньої колекції
+            ApplianceList list = new ApplianceList();
+    
+            // 2. Додаємо кілька приладів 
+            list.add(new Kettle("Tefal", 2000, new EmissionRange(0, 5)));
+            list.add(new Microwave("Samsung", 1500, new EmissionRange(2400, 2500)));
+            list.add(new TV("LG", 180, new EmissionRange(470, 860)));
+            list.add(new Kettle("Tefal", 2000, new EmissionRange(0, 5)));
+            list.add(new Microwave("Samsung", 1500, new EmissionRange(2400, 2500)));
+            list.add(new TV("LG", 180, new EmissionRange(470, 860)));
+            list.add(new Fridge("Bosch", 300, new EmissionRange(0, 10)));
+            list.add(new Laptop("HP", 90, new EmissionRange(2400, 5800)));
+
+            System.out.println(SEP);
+            System.out.println("Початковий список приладів:");
+            printIndexed(list, 0);
+    
+            // 3. Конструктор від одного елемента
+            Appliance kettle = new Kettle("Philips", 2200, new EmissionRange(0, 5));
+            ApplianceList one = new ApplianceList(kettle);
+            System.out.println(SEP);
+            System.out.println("\nКолекція, створена від одного приладу:");
+            for (Appliance a : one) {
+                System.out.println(" - " + a);
+            }
+    
+            // 4. Конструктор від стандартної колекції (subList з java.util.List)
+            List<Appliance> sub = list.subList(1, 4);
+            ApplianceList copy = new ApplianceList(sub);
+            System.out.println(SEP);
+            System.out.println("\nКолекція, створена зі стандартного subList(1,4) іншої колекції:");
+            printIndexed(copy, 1);
+    
+            // 5. Приклад операцій зі списком
+            System.out.println(SEP);
+            System.out.println("\nЕлемент з індексом 2 у початковому списку:");
+            System.out.println(" * " + list.get(2));
+    
+            // Заміна елемента 
+            System.out.println("\nЗамінюємо елемент з індексом 1:");
+            Appliance old = list.get(1);
+            Appliance newTV = new TV("Sony", 200, new EmissionRange(470, 860));
+            System.out.println("   Було: " + old);
+            System.out.println("   Стає: " + newTV);
+            list.set(1, newTV);
+    
+            System.out.println("\nСписок після заміни:");
+            printIndexed(list, 0);
+    
+            // Пошук індексу холодильника 
+            System.out.println(SEP);
+            int fridgeIndex = list.indexOf(new Fridge("Bosch", 300, new EmissionRange(0, 10)));
+            System.out.println("\nІндекс холодильника Bosch: " + fridgeIndex);
+    
+            // Видалення елемента 
+            System.out.println(SEP);
+            System.out.println("\nВидаляємо елемент з індексом 0:");
+            Appliance toRemove = list.get(0);
+            System.out.println("   Це елемент: " + toRemove);
+            list.remove(0);
+    
+            System.out.println("\nСписок після видалення першого елемента:");
+            printIndexed(list, 0);
+    
+        } catch (IndexOutOfBoundsException e) {
+            System.err.println("Помилка індексу: " + e.getMessage());
+        } catch (IllegalArgumentException e) {
+            System.err.println("Помилка аргументів: " + e.getMessage());
+        } catch (Exception e) {
+            System.err.println("Непередбачена помилка: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Друкує список із індексами за один прохід {@link ListIterator}
+     * (без {@code get(i)}, який для зв’язного списку коштує O(n) на кожен виклик).
+     *
+     * @param list   список для друку
+     * @param offset зсув, що додається до індексу при виводі
+     */
+    private static void printIndexed(List<Appliance> list, int offset) {
+        for (ListIterator<Appliance> it = list.listIterator(); it.hasNext(); ) {
+            int index = offset + it.nextIndex();
+            System.out.println(" [" + index + "] " + it.next());
+        }
+    }
+}
+
+/**
+ * Простий бенчмарк завантаження {@link ApplianceList} із колекції.
+ *
+ * <p>Для кожного розміру вимірюється час конструктора {@code ApplianceList(Collection)}
+ * та {@code addAll}. Завдяки хвостовому вказівнику час на один елемент має лишатися
+ * приблизно сталим, тобто загальний час росте лінійно.
+ */
+class ApplianceListBenchmark {
+
+    /** Розміри колекцій, що завантажуються. */
+    private static final int[] SIZES = {50_000, 100_000, 200_000, 400_000, 800_000};
+
+    /** Кількість повторів на розмір (береться найкращий результат). */
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) {
+        System.out.printf("%10s %14s %14s %12s%n", "n", "ctor, мс", "addAll, мс", "нс/елемент");
+        for (int n : SIZES) {
+            List<Appliance> source = generate(n);
+            long bestCtor = Long.MAX_VALUE;
+            long bestAddAll = Long.MAX_VALUE;
+            for (int r = 0; r < ROUNDS; r++) {
+                long t0 = System.nanoTime();
+                ApplianceList loaded = new ApplianceList(source);
+                long t1 = System.nanoTime();
+                loaded.addAll(source);
+                long t2 = System.nanoTime();
+                if (loaded.size() != 2 * n) {
+                    throw new IllegalStateException("Неочікуваний розмір: " + loaded.size());
+                }
+                bestCtor = Math.min(bestCtor, t1 - t0);
+                bestAddAll = Math.min(bestAddAll, t2 - t1);
+            }
+            System.out.printf("%10d %14.2f %14.2f %12.1f%n",
+                    n, bestCtor / 1e6, bestAddAll / 1e6, (double) bestCtor / n);
+        }
+    }
+
+    /** Генерує {@code n} різних приладів. */
+    static List<Appliance> generate(int n) {
+        List<Appliance> res = new java.util.ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            int power = 50 + (i * 37) % 2500;
+            double min = (i * 13) % 5000;
+            EmissionRange range = new EmissionRange(min, min + 1 + (i % 100));
+            switch (i % 5) {
+                case 0 -> res.add(new Kettle("Kettle-" + i, power, range));
+                case 1 -> res.add(new Microwave("Microwave-" + i, power, range));
+                case 2 -> res.add(new TV("TV-" + i, power, range));
+                case 3 -> res.add(new Fridge("Fridge-" + i, power, range));
+                default -> res.add(new Laptop("Laptop-" + i, power, range));
+            }
+        }
+        return res;
+    }
+}
+
+/**
+ * Порівняння послідовного та паралельного потоку над {@link ApplianceList}
+ * із 1 000 000 приладів: сума {@code currentPower()} та фільтр за діапазоном випромінювання.
+ */
+class ApplianceStreamBenchmark {
+
+    /** Кількість приладів у списку. */
+    private static final int N = 1_000_000;
+
+    /** Кількість прогрівних та вимірювальних повторів. */
+    private static final int WARMUP = 5;
+    private static final int ROUNDS = 10;
+
+    /** Поглинач результатів, щоб JIT не відкинув обчислення. */
+    private static volatile long sink;
+
+    public static void main(String[] args) {
+        ApplianceList list = new ApplianceList(ApplianceListBenchmark.generate(N));
+        int i = 0;
+        for (Appliance a : list) {
+            if (i++ % 3 == 0) {
+                a.plugIn();
+            }
+        }
+
+        System.out.println("Ядер: " + Runtime.getRuntime().availableProcessors() + ", n = " + N);
+        report("sum(currentPower)", () -> list.stream().mapToLong(Appliance::currentPower).sum(),
+                () -> list.parallelStream().mapToLong(Appliance::currentPower).sum());
+        report("filter(emission)", () -> list.stream().filter(a -> a.emission.intersects(2400, 2500)).count(),
+                () -> list.parallelStream().filter(a -> a.emission.intersects(2400, 2500)).count());
+    }
+
+    private static void report(String name, java.util.function.LongSupplier seq,
+                               java.util.function.LongSupplier par) {
+        long seqResult = seq.getAsLong();
+        long parResult = par.getAsLong();
+        if (seqResult != parResult) {
+            throw new IllegalStateException(name + ": результати різняться " + seqResult + " != " + parResult);
+        }
+        double seqMs = bestMillis(seq);
+        double parMs = bestMillis(par);
+        System.out.printf("%-20s послідовно %8.2f мс, паралельно %8.2f мс, прискорення x%.2f (результат %d)%n",
+                name, seqMs, parMs, seqMs / parMs, seqResult);
+    }
+
+    private static double bestMillis(java.util.function.LongSupplier task) {
+        for (int r = 0; r < WARMUP; r++) {
+            sink = task.getAsLong();
+        }
+        long best = Long.MAX_VALUE;
+        for (int r = 0; r < ROUNDS; r++) {
+            long t0 = System.nanoTime();
+            sink = task.getAsLong();
+            best = Math.min(best, System.nanoTime() - t0);
+        }
+        return best / 1e6;
+    }
+}
+
+/**
+ * Масштабування паралельних додавань: {@link ConcurrentApplianceList} проти
+ * {@code Collections.synchronizedList(new ApplianceList())}.
+ */
+class ConcurrentApplianceListBenchmark {
+
+    /** Кількість додавань на один потік. */
+    private static final int PER_THREAD = 500_000;
+
+    /** Кількість повторів на конфігурацію (береться найкращий результат). */
+    private static final int ROUNDS = 3;
+
+    public static void main(String[] args) throws InterruptedException {
+        List<Appliance> pool = ApplianceListBenchmark.generate(1024);
+        int cores = Runtime.getRuntime().availableProcessors();
+        System.out.printf("%8s %22s %22s%n", "потоків", "lock-free, млн/с", "synchronized, млн/с");
+        for (int threads = 1; threads <= Math.max(2, cores * 2); threads *= 2) {
+            double lockFree = bestThroughput(threads, pool, ConcurrentApplianceList::new);
+            double synced = bestThroughput(threads, pool,
+                    () -> java.util.Collections.synchronizedList(new ApplianceList()));
+            System.out.printf("%8d %22.2f %22.2f%n", threads, lockFree, synced);
+        }
+    }
+
+    private static double bestThroughput(int threads, List<Appliance> pool,
+                                         java.util.function.Supplier<List<Appliance>> factory)
+            throws InterruptedException {
+        double best = 0;
+        for (int r = 0; r < ROUNDS; r++) {
+            List<Appliance> target = factory.get();
+            Thread[] workers = new Thread[threads];
+            java.util.concurrent.CountDownLatch start = new java.util.concurrent.CountDownLatch(1);
+            for (int t = 0; t < threads; t++) {
+                final int offset = t;
+                workers[t] = new Thread(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    for (int i = 0; i < PER_THREAD; i++) {
+                        target.add(pool.get((offset + i) & 1023));
+                    }
+                });
+                workers[t].start();
+            }
+            long t0 = System.nanoTime();
+            start.countDown();
+            for (Thread w : workers) {
+                w.join();
+            }
+            long elapsed = System.nanoTime() - t0;
+            if (target.size() != threads * PER_THREAD) {
+                throw new IllegalStateException("Втрачено елементи: " + target.size());
+            }
+            best = Math.max(best, threads * (double) PER_THREAD / elapsed * 1e3);
+        }
+        return best;
+    }
+}
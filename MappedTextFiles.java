@@ -0,0 +1,214 @@
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+/**
+ * Пакетна обробка текстових файлів UTF-8 без завантаження в купу: вхід відображається
+ * в пам’ять сегментами ({@link FileChannel#map}) і декодується прямо в буфер
+ * споживача, а результат кодується в прямий {@link ByteBuffer} і пишеться в канал.
+ * Розмір файлу обмежений лише диском, а не купою.
+ */
+final class MappedTextFiles {
+    /** Розмір відображеного сегмента вхідного файлу, байтів. */
+    private static final int SEGMENT = 1 << 26;
+    /** Розмір прямого буфера виводу, байтів. */
+    private static final int OUTPUT_BUFFER = 1 << 20;
+
+    private MappedTextFiles() { }
+
+    /** Обробка тексту: читає з {@code in}, пише в {@code out}, повертає кількість видалених слів. */
+    @FunctionalInterface
+    interface Job {
+        long run(Reader in, Writer out) throws IOException;
+    }
+
+    /** Підсумок обробки файлу. */
+    record Stats(long bytesIn, long bytesOut, long removed, long nanos) {
+        double megabytesPerSecond() {
+            return nanos == 0 ? 0 : bytesIn / (double) (1 << 20) / (nanos / 1e9);
+        }
+
+        @Override public String toString() {
+            return String.format("Оброблено %.1f МБ → %.1f МБ за %.1f мс (%.1f МБ/с), видалено слів: %d",
+                    bytesIn / (double) (1 << 20), bytesOut / (double) (1 << 20), nanos / 1e6,
+                    megabytesPerSecond(), removed);
+        }
+    }
+
+    /**
+     * Обробляє файл {@code input} у {@code output} (перезаписується).
+     *
+     * @throws java.nio.charset.CharacterCodingException якщо вхід не є коректним UTF-8
+     */
+    static Stats process(Path input, Path output, Job job) throws IOException {
+        long start = System.nanoTime();
+        try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ);
+             ChannelWriter out = new ChannelWriter(FileChannel.open(output, StandardOpenOption.CREATE,
+                     StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE))) {
+            long removed = job.run(new MappedReader(in), out);
+            out.finish();
+            return new Stats(in.size(), out.bytesWritten(), removed, System.nanoTime() - start);
+        }
+    }
+
+    /** {@link Reader} над відображеним у пам’ять файлом UTF-8. Канал не закриває. */
+    static final class MappedReader extends Reader {
+        private final FileChannel channel;
+        private final long size;
+        private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder();
+        /** Для читання меншими за 2 символи порціями (сурогатна пара не влазить). */
+        private final CharBuffer spill = CharBuffer.allocate(2).flip();
+        private MappedByteBuffer segment;
+        private long segmentStart;
+        private boolean done;
+
+        MappedReader(FileChannel channel) throws IOException {
+            this.channel = channel;
+            this.size = channel.size();
+            map(0);
+        }
+
+        private void map(long position) throws IOException {
+            segmentStart = position;
+            segment = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(SEGMENT, size - position));
+        }
+
+        @Override
+        public int read(char[] cbuf, int off, int len) throws IOException {
+            Objects.checkFromIndexSize(off, len, cbuf.length);
+            if (len == 0) return 0;
+            if (!spill.hasRemaining() && len < 2) {
+                spill.clear();
+                int n = decode(spill);
+                spill.flip();
+                if (n < 0) return -1;
+            }
+            if (spill.hasRemaining()) {
+                int n = Math.min(len, spill.remaining());
+                spill.get(cbuf, off, n);
+                return n;
+            }
+            return decode(CharBuffer.wrap(cbuf, off, len));
+        }
+
+        /** Декодує хоча б один символ у {@code dst} (місця на 2 символи) або повертає -1. */
+        private int decode(CharBuffer dst) throws IOException {
+            int start = dst.position();
+            while (dst.position() == start && !done) {
+                boolean last = segmentStart + segment.limit() == size;
+                CoderResult r = decoder.decode(segment, dst, last);
+                if (r.isError()) r.throwException();
+                if (r.isOverflow()) break;
+                if (!last) {
+                    // недекодований хвіст (частина послідовності UTF-8) потрапляє в наступний сегмент
+                    map(segmentStart + segment.position());
+                    continue;
+                }
+                if (decoder.flush(dst).isOverflow()) break;
+                done = true;
+            }
+            return dst.position() == start ? -1 : dst.position() - start;
+        }
+
+        @Override
+        public void close() { }
+    }
+
+    /** {@link Writer}, що кодує UTF-8 у прямий буфер і скидає його в канал. Закриває канал. */
+    static final class ChannelWriter extends Writer {
+        private final FileChannel channel;
+        private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+        private final CharBuffer chars = CharBuffer.allocate(8192);
+        private final ByteBuffer bytes = ByteBuffer.allocateDirect(OUTPUT_BUFFER);
+        private long written;
+        private boolean finished;
+
+        ChannelWriter(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        long bytesWritten() { return written; }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) throws IOException {
+            Objects.checkFromIndexSize(off, len, cbuf.length);
+            while (len > 0) {
+                int n = Math.min(len, chars.remaining());
+                chars.put(cbuf, off, n);
+                off += n;
+                len -= n;
+                if (!chars.hasRemaining()) encode(false);
+            }
+        }
+
+        @Override
+        public void write(String str, int off, int len) throws IOException {
+            while (len > 0) {
+                int n = Math.min(len, chars.remaining());
+                chars.put(str, off, off + n);
+                off += n;
+                len -= n;
+                if (!chars.hasRemaining()) encode(false);
+            }
+        }
+
+        @Override
+        public void write(int c) throws IOException {
+            chars.put((char) c);
+            if (!chars.hasRemaining()) encode(false);
+        }
+
+        /** Кодує накопичені символи; незавершена сурогатна пара лишається до наступного запису. */
+        private void encode(boolean endOfInput) throws IOException {
+            chars.flip();
+            while (true) {
+                CoderResult r = encoder.encode(chars, bytes, endOfInput);
+                if (r.isError()) r.throwException();
+                if (r.isUnderflow()) break;
+                drain();
+            }
+            chars.compact();
+        }
+
+        private void drain() throws IOException {
+            bytes.flip();
+            while (bytes.hasRemaining()) written += channel.write(bytes);
+            bytes.clear();
+        }
+
+        @Override
+        public void flush() throws IOException {
+            encode(false);
+            drain();
+        }
+
+        /** Завершує кодування (після цього писати не можна). */
+        void finish() throws IOException {
+            if (finished) return;
+            finished = true;
+            encode(true);
+            while (encoder.flush(bytes).isOverflow()) drain();
+            drain();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                finish();
+            } finally {
+                channel.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,160 @@
+import java.util.Arrays;
+
+/**
+ * Обчислювальні ядра ЛР1 над плоскими масивами (див. {@link DoubleMatrix}).
+ *
+ * <p>Є скалярна реалізація і векторна ({@code VectorMatrixKernels} з каталогу
+ * {@code vector/}, на {@code jdk.incubator.vector}). Векторна компілюється й запускається лише
+ * з {@code --add-modules jdk.incubator.vector}; якщо класу чи модуля немає або перевірка на
+ * зразку дає інший результат, ніж скалярна, використовується скалярна, а причина пишеться
+ * в журнал {@code MatrixKernels} ({@link System.Logger}). Властивість
+ * {@code -Dlaba1.kernels=scalar} вимикає векторну реалізацію примусово.
+ */
+interface MatrixKernels {
+    /** Обробник замінених NaN/Infinity за індексом у плоскому масиві. */
+    @FunctionalInterface
+    interface IndexListener {
+        void replaced(int index);
+    }
+
+    IndexListener IGNORE = k -> { };
+
+    /** Обрана реалізація. */
+    MatrixKernels DEFAULT = Loader.select();
+
+    /** {@link #DEFAULT}, розпаралелені плитками (див. {@link ParallelMatrixKernels}). */
+    MatrixKernels PARALLEL = new ParallelMatrixKernels(DEFAULT);
+
+    String name();
+
+    /**
+     * {@code c[k] = a[k] XOR b[k]} по бітах для {@code k} у {@code [from; to)}; NaN/Infinity
+     * замінюються на 0.0, а {@code listener} отримує їхні індекси за зростанням.
+     */
+    void xor(double[] a, double[] b, double[] c, int from, int to, IndexListener listener);
+
+    /**
+     * Оновлює максимуми та мінімуми стовпців рядками {@code [rowFrom; rowTo)} матриці
+     * {@code data} з {@code cols} стовпцями ({@link Math#max}/{@link Math#min}, рядки по черзі).
+     */
+    void columnExtremes(double[] data, int cols, int rowFrom, int rowTo, double[] max, double[] min);
+
+    /**
+     * Злиті {@link #xor} і {@link #columnExtremes} для рядків {@code [rowFrom; rowTo)}: кожен
+     * елемент C одразу оновлює {@code max}/{@code min} свого стовпця. Якщо {@code c} дорівнює
+     * null, C нікуди не записується.
+     */
+    void xorColumnExtremes(double[] a, double[] b, double[] c, int cols, int rowFrom, int rowTo,
+                           double[] max, double[] min, IndexListener listener);
+
+    /** Скалярна реалізація — еталон. */
+    static MatrixKernels scalar() { return ScalarMatrixKernels.INSTANCE; }
+
+    /**
+     * Початкові максимуми {@code cols} стовпців для {@link #xorColumnExtremes}: {@code -∞}.
+     * Після заміни NaN/Infinity усі елементи C скінченні, тож ±∞ — нейтральні початкові
+     * значення для {@link Math#max}/{@link Math#min}: перший же рядок їх витісняє.
+     */
+    static double[] maxAccumulator(int cols) {
+        double[] max = new double[cols];
+        Arrays.fill(max, Double.NEGATIVE_INFINITY);
+        return max;
+    }
+
+    /** Початкові мінімуми {@code cols} стовпців: {@code +∞} (див. {@link #maxAccumulator}). */
+    static double[] minAccumulator(int cols) {
+        double[] min = new double[cols];
+        Arrays.fill(min, Double.POSITIVE_INFINITY);
+        return min;
+    }
+
+    /** Вибір реалізації під час ініціалізації {@link #DEFAULT}. */
+    final class Loader {
+        private static final String VECTOR_CLASS = "VectorMatrixKernels";
+        private static final String VECTOR_MODULE = "jdk.incubator.vector";
+        private static final System.Logger LOG = System.getLogger(MatrixKernels.class.getName());
+
+        private Loader() { }
+
+        static MatrixKernels select() {
+            if ("scalar".equals(System.getProperty("laba1.kernels"))) return scalar();
+            MatrixKernels vector = vector();
+            return vector != null ? vector : scalar();
+        }
+
+        /**
+         * Векторна реалізація, якщо вона є і збігається зі скалярною побітово на зразку; інакше null.
+         * Причина відмови журналюється: на рівні WARNING, якщо модуль підключено (тобто векторну
+         * реалізацію очікували), і на рівні DEBUG, якщо його просто немає.
+         */
+        static MatrixKernels vector() {
+            boolean expected = ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent();
+            System.Logger.Level level = expected ? System.Logger.Level.WARNING : System.Logger.Level.DEBUG;
+            MatrixKernels k;
+            try {
+                k = (MatrixKernels) Class.forName(VECTOR_CLASS).getDeclaredConstructor().newInstance();
+            } catch (ClassNotFoundException e) {
+                LOG.log(level, "Клас " + VECTOR_CLASS + " не знайдено на classpath (його треба компілювати з -d .),"
+                        + " використовуються скалярні ядра");
+                return null;
+            } catch (ReflectiveOperationException | LinkageError e) {
+                LOG.log(level, "Векторні ядра недоступні (модуль " + VECTOR_MODULE + " підключено: " + expected
+                        + "), використовуються скалярні ядра", e);
+                return null;
+            }
+            if (!agrees(k, scalar())) {
+                LOG.log(System.Logger.Level.WARNING, k.name() + " розходяться зі скалярними ядрами на зразку,"
+                        + " використовуються скалярні ядра");
+                return null;
+            }
+            return k;
+        }
+
+        /** Побітове порівняння двох реалізацій на даних зі спеціальними значеннями. */
+        static boolean agrees(MatrixKernels x, MatrixKernels y) {
+            int rows = 7;
+            int cols = 37;
+            double[] a = new double[rows * cols];
+            double[] b = new double[a.length];
+            java.util.SplittableRandom rnd = new java.util.SplittableRandom(42);
+            double[] special = {0.0, -0.0, Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY,
+                    Double.MIN_VALUE, -Double.MAX_VALUE, 1.0, -1.0,
+                    Double.longBitsToDouble(0xFFF0000000000001L), Double.longBitsToDouble(0x7FF00000DEADBEEFL)};
+            for (int k = 0; k < a.length; k++) {
+                a[k] = rnd.nextBoolean() ? special[rnd.nextInt(special.length)] : Double.longBitsToDouble(rnd.nextLong());
+                b[k] = rnd.nextBoolean() ? special[rnd.nextInt(special.length)] : rnd.nextDouble(-4, 4);
+            }
+            double[] cx = new double[a.length];
+            double[] cy = new double[a.length];
+            StringBuilder ix = new StringBuilder();
+            StringBuilder iy = new StringBuilder();
+            x.xor(a, b, cx, 3, a.length - 2, k -> ix.append(k).append(','));
+            y.xor(a, b, cy, 3, a.length - 2, k -> iy.append(k).append(','));
+            if (!sameBits(cx, cy) || !ix.toString().equals(iy.toString())) return false;
+            for (int k = 0; k < a.length; k++) if (rnd.nextInt(5) == 0) cx[k] = -0.0;
+            double[] maxX = Arrays.copyOfRange(cx, 0, cols);
+            double[] minX = maxX.clone();
+            double[] maxY = maxX.clone();
+            double[] minY = maxX.clone();
+            x.columnExtremes(cx, cols, 1, rows, maxX, minX);
+            y.columnExtremes(cx, cols, 1, rows, maxY, minY);
+            if (!sameBits(maxX, maxY) || !sameBits(minX, minY)) return false;
+            double[] fx = new double[a.length];
+            double[] fy = new double[a.length];
+            ix.setLength(0);
+            iy.setLength(0);
+            x.xorColumnExtremes(a, b, fx, cols, 1, rows, maxX, minX, k -> ix.append(k).append(','));
+            y.xorColumnExtremes(a, b, fy, cols, 1, rows, maxY, minY, k -> iy.append(k).append(','));
+            return sameBits(fx, fy) && sameBits(maxX, maxY) && sameBits(minX, minY)
+                    && ix.toString().equals(iy.toString());
+        }
+
+        static boolean sameBits(double[] x, double[] y) {
+            if (x.length != y.length) return false;
+            for (int k = 0; k < x.length; k++) {
+                if (Double.doubleToRawLongBits(x[k]) != Double.doubleToRawLongBits(y[k])) return false;
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+/**
+ * Паралельна обгортка над послідовними ядрами: діапазон ділиться на плитки, які обробляються
+ * в спільному {@link java.util.concurrent.ForkJoinPool}, а результати плиток зводяться по черзі.
+ *
+ * <p>Матриця зберігається по рядках, тож плитка — це суцільний шматок масиву: для XOR —
+ * {@link #TILE} елементів (a, b і c разом ≈ 384 КБ, у межах L2), для екстремумів — смуга
+ * рядків зі своїми акумуляторами. Результат побітово той самий, що в послідовних ядрах:
+ * індекси замінених елементів передаються слухачу після обчислення, за зростанням і з
+ * потоку, що викликав метод, а {@link Math#max}/{@link Math#min} не залежать від групування
+ * (включно з ±0.0; NaN у даних після XOR не буває).
+ */
+final class ParallelMatrixKernels implements MatrixKernels {
+    /** Елементів у плитці XOR. */
+    static final int TILE = 1 << 14;
+    /** Менші діапазони обробляються послідовно: розподіл коштує більше, ніж дає. */
+    static final int PARALLEL_THRESHOLD = 1 << 17;
+
+    private final MatrixKernels sequential;
+
+    ParallelMatrixKernels(MatrixKernels sequential) {
+        this.sequential = Objects.requireNonNull(sequential);
+    }
+
+    @Override public String name() { return sequential.name() + "/parallel"; }
+
+    @Override
+    public void xor(double[] a, double[] b, double[] c, int from, int to, IndexListener listener) {
+        int length = to - from;
+        if (length < PARALLEL_THRESHOLD) {
+            sequential.xor(a, b, c, from, to, listener);
+            return;
+        }
+        int tiles = (length - 1) / TILE + 1;
+        int[][] replaced = new int[tiles][];
+        IntStream.range(0, tiles).parallel().forEach(t -> {
+            int lo = from + t * TILE;
+            int hi = Math.min(to, lo + TILE);
+            if (listener == IGNORE) {
+                sequential.xor(a, b, c, lo, hi, IGNORE);
+            } else {
+                Indexes found = new Indexes();
+                sequential.xor(a, b, c, lo, hi, found);
+                replaced[t] = found.toArray();
+            }
+        });
+        if (listener == IGNORE) return;
+        for (int[] indexes : replaced) {
+            for (int k : indexes) listener.replaced(k);
+        }
+    }
+
+    @Override
+    public void columnExtremes(double[] data, int cols, int rowFrom, int rowTo, double[] max, double[] min) {
+        int rows = rowTo - rowFrom;
+        int bands = bands(rows, cols);
+        if (bands < 2) {
+            sequential.columnExtremes(data, cols, rowFrom, rowTo, max, min);
+            return;
+        }
+        double[][] maxima = new double[bands][];
+        double[][] minima = new double[bands][];
+        IntStream.range(0, bands).parallel().forEach(t -> {
+            int lo = rowFrom + (int) ((long) rows * t / bands);
+            int hi = rowFrom + (int) ((long) rows * (t + 1) / bands);
+            double[] bandMax = Arrays.copyOfRange(data, lo * cols, lo * cols + cols);
+            double[] bandMin = bandMax.clone();
+            sequential.columnExtremes(data, cols, lo + 1, hi, bandMax, bandMin);
+            maxima[t] = bandMax;
+            minima[t] = bandMin;
+        });
+        combine(maxima, minima, max, min);
+    }
+
+    @Override
+    public void xorColumnExtremes(double[] a, double[] b, double[] c, int cols, int rowFrom, int rowTo,
+                                  double[] max, double[] min, IndexListener listener) {
+        int rows = rowTo - rowFrom;
+        int bands = bands(rows, cols);
+        if (bands < 2) {
+            sequential.xorColumnExtremes(a, b, c, cols, rowFrom, rowTo, max, min, listener);
+            return;
+        }
+        double[][] maxima = new double[bands][];
+        double[][] minima = new double[bands][];
+        int[][] replaced = new int[bands][];
+        IntStream.range(0, bands).parallel().forEach(t -> {
+            int lo = rowFrom + (int) ((long) rows * t / bands);
+            int hi = rowFrom + (int) ((long) rows * (t + 1) / bands);
+            double[] bandMax = MatrixKernels.maxAccumulator(cols);
+            double[] bandMin = MatrixKernels.minAccumulator(cols);
+            Indexes found = listener == IGNORE ? null : new Indexes();
+            sequential.xorColumnExtremes(a, b, c, cols, lo, hi, bandMax, bandMin, found == null ? IGNORE : found);
+            maxima[t] = bandMax;
+            minima[t] = bandMin;
+            if (found != null) replaced[t] = found.toArray();
+        });
+        combine(maxima, minima, max, min);
+        if (listener == IGNORE) return;
+        for (int[] indexes : replaced) {
+            for (int k : indexes) listener.replaced(k);
+        }
+    }
+
+    /** Кількість смуг рядків; менше двох — рахувати послідовно. */
+    private static int bands(int rows, int cols) {
+        if ((long) rows * cols < PARALLEL_THRESHOLD) return 1;
+        // не більше кількох смуг на потік, щоб часткові акумулятори не займали багато пам'яті
+        return (int) Math.min(Math.min(rows, (long) rows * cols / TILE),
+                4L * java.util.concurrent.ForkJoinPool.getCommonPoolParallelism());
+    }
+
+    /** Зведення часткових екстремумів смуг по черзі. */
+    private static void combine(double[][] maxima, double[][] minima, double[] max, double[] min) {
+        for (int t = 0; t < maxima.length; t++) {
+            for (int j = 0; j < max.length; j++) {
+                max[j] = Math.max(max[j], maxima[t][j]);
+                min[j] = Math.min(min[j], minima[t][j]);
+            }
+        }
+    }
+
+    /** Індекси замінених елементів однієї плитки. */
+    private static final class Indexes implements IndexListener {
+        private int[] data = new int[16];
+        private int size;
+
+        @Override
+        public void replaced(int index) {
+            if (size == data.length) data = Arrays.copyOf(data, size * 2);
+            data[size++] = index;
+        }
+
+        int[] toArray() { return Arrays.copyOf(data, size); }
+    }
+}
@@ -0,0 +1,57 @@
+/** Скалярні ядра: по одному елементу. */
+final class ScalarMatrixKernels implements MatrixKernels {
+    static final ScalarMatrixKernels INSTANCE = new ScalarMatrixKernels();
+
+    private ScalarMatrixKernels() { }
+
+    @Override public String name() { return "scalar"; }
+
+    @Override
+    public void xor(double[] a, double[] b, double[] c, int from, int to, IndexListener listener) {
+        for (int k = from; k < to; k++) {
+            double v = Double.longBitsToDouble(Double.doubleToLongBits(a[k]) ^ Double.doubleToLongBits(b[k]));
+            if (!Double.isFinite(v)) {
+                listener.replaced(k);
+                v = 0.0;
+            }
+            c[k] = v;
+        }
+    }
+
+    @Override
+    public void columnExtremes(double[] data, int cols, int rowFrom, int rowTo, double[] max, double[] min) {
+        for (int i = rowFrom; i < rowTo; i++) {
+            int base = i * cols;
+            for (int j = 0; j < cols; j++) {
+                double v = data[base + j];
+                max[j] = Math.max(max[j], v);
+                min[j] = Math.min(min[j], v);
+            }
+        }
+    }
+
+    @Override
+    public void xorColumnExtremes(double[] a, double[] b, double[] c, int cols, int rowFrom, int rowTo,
+                                  double[] max, double[] min, IndexListener listener) {
+        // рядок C (у самій C або в буфері) ще в кеші L1, коли по ньому оновлюються акумулятори
+        double[] row = c != null ? c : new double[cols];
+        for (int i = rowFrom; i < rowTo; i++) {
+            int base = i * cols;
+            int offset = c != null ? base : 0;
+            for (int j = 0; j < cols; j++) {
+                int k = base + j;
+                double v = Double.longBitsToDouble(Double.doubleToLongBits(a[k]) ^ Double.doubleToLongBits(b[k]));
+                if (!Double.isFinite(v)) {
+                    listener.replaced(k);
+                    v = 0.0;
+                }
+                row[offset + j] = v;
+            }
+            for (int j = 0; j < cols; j++) {
+                double v = row[offset + j];
+                max[j] = Math.max(max[j], v);
+                min[j] = Math.min(min[j], v);
+            }
+        }
+    }
+}
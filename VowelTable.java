@@ -0,0 +1,63 @@
+import java.util.BitSet;
+import java.util.Objects;
+
+/**
+ * Класифікація літер на голосні та приголосні за таблицею, спільна для ЛР2 ({@link Laba2})
+ * та ЛР4 ({@code Letter}).
+ *
+ * <p>Для латиниці та кирилиці ({@code U+0000..U+04FF}) відповідь береться з
+ * таблиці, обчисленої один раз; для решти кодових точок — з {@link BitSet} набору голосних
+ * і {@link Character}. Літера голосна, якщо вона або її мала форма є в наборі, тож набір
+ * можна доповнювати й формами лише у верхньому регістрі.
+ *
+ * <p>Типовий набір ({@link #DEFAULT}) — українські та англійські голосні; його можна
+ * замінити без зміни коду властивістю JVM {@code -Dlaba.vowels=...}.
+ */
+final class VowelTable {
+    /** Голосні за замовчуванням. */
+    static final String UKRAINIAN_ENGLISH = "аеєиіїоуюяaeiou";
+    /** Набір для {@link Laba2} та {@code Letter}. */
+    static final VowelTable DEFAULT = of(System.getProperty("laba.vowels", UKRAINIAN_ENGLISH));
+
+    private static final int TABLE_SIZE = 0x500;
+    private static final byte VOWEL = 1;
+    private static final byte CONSONANT = 2;
+
+    private final String vowels;
+    private final BitSet set = new BitSet();
+    private final byte[] table = new byte[TABLE_SIZE];
+
+    private VowelTable(String vowels) {
+        this.vowels = vowels;
+        vowels.codePoints().forEach(set::set);
+        for (int cp = 0; cp < TABLE_SIZE; cp++) table[cp] = compute(cp);
+    }
+
+    /** Таблиця для заданого набору голосних (кодові точки рядка). */
+    static VowelTable of(String vowels) {
+        return new VowelTable(Objects.requireNonNull(vowels, "Набір голосних не може бути null"));
+    }
+
+    /** Нова таблиця з набором, доповненим {@code more}. */
+    VowelTable with(String more) {
+        return of(vowels + more);
+    }
+
+    String vowels() { return vowels; }
+
+    boolean isVowel(int codePoint) {
+        if (codePoint >= 0 && codePoint < TABLE_SIZE) return table[codePoint] == VOWEL;
+        return compute(codePoint) == VOWEL;
+    }
+
+    boolean isConsonant(int codePoint) {
+        if (codePoint >= 0 && codePoint < TABLE_SIZE) return table[codePoint] == CONSONANT;
+        return compute(codePoint) == CONSONANT;
+    }
+
+    private byte compute(int cp) {
+        if (!Character.isLetter(cp)) return 0;
+        int lower = Character.toLowerCase(cp);
+        return set.get(cp) || (lower >= 0 && set.get(lower)) ? VOWEL : CONSONANT;
+    }
+}
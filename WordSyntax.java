@@ -0,0 +1,80 @@
+/**
+ * Межі слів, спільні для ЛР2 ({@code WordFilter}) і ЛР4 ({@code TextScanner}).
+ *
+ * <p>Слово — серія літер з апострофними продовженнями ({@code \p{L}+(?:['’]\p{L}+)*}) між
+ * межами {@code \b} у режимі {@code UNICODE_CHARACTER_CLASS}: саме так його шукали
+ * регулярні вирази, на які спиралися обидві роботи. Класи символів до кінця кирилиці
+ * обчислені один раз у таблиці: виклики {@link Character} для кожного символу —
+ * найдорожча частина сканування.
+ */
+final class WordSyntax {
+    private static final int TABLE_SIZE = 0x500;
+    private static final byte LETTER = 1;
+    private static final byte WORD = 2;
+    private static final byte SPACE = 4;
+    private static final byte[] CLASSES = new byte[TABLE_SIZE];
+
+    static {
+        for (int cp = 0; cp < TABLE_SIZE; cp++) {
+            CLASSES[cp] = (byte) ((Character.isLetter(cp) ? LETTER : 0)
+                    | (computeWordChar(cp) ? WORD : 0)
+                    | (Character.isWhitespace(cp) ? SPACE : 0));
+        }
+    }
+
+    private WordSyntax() { }
+
+    /** Символ слова для {@code \b} у режимі {@code UNICODE_CHARACTER_CLASS}. */
+    static boolean isWordChar(int cp) {
+        return cp < TABLE_SIZE ? (CLASSES[cp] & WORD) != 0 : computeWordChar(cp);
+    }
+
+    /** Те саме, що {@link Character#isLetter(int)}. */
+    static boolean isLetter(int cp) {
+        return cp < TABLE_SIZE ? (CLASSES[cp] & LETTER) != 0 : Character.isLetter(cp);
+    }
+
+    /** Те саме, що {@link Character#isWhitespace(char)}. */
+    static boolean isWhitespace(char c) {
+        return c < TABLE_SIZE ? (CLASSES[c] & SPACE) != 0 : Character.isWhitespace(c);
+    }
+
+    private static boolean computeWordChar(int cp) {
+        if (Character.isAlphabetic(cp) || cp == 0x200C || cp == 0x200D) return true;
+        return switch (Character.getType(cp)) {
+            case Character.NON_SPACING_MARK, Character.ENCLOSING_MARK, Character.COMBINING_SPACING_MARK,
+                 Character.DECIMAL_DIGIT_NUMBER, Character.CONNECTOR_PUNCTUATION -> true;
+            default -> false;
+        };
+    }
+
+    /**
+     * Кінець збігу слова, що починається в {@code start} (ліва межа {@code \b} уже перевірена),
+     * або -1. Жадібний збіг відкочується на ціле апострофне продовження, якщо за ним іде символ слова.
+     */
+    static int matchWord(CharSequence src, int start, int hi) {
+        int end = skipLetters(src, start, hi);
+        int best = isWordAt(src, end, hi) ? -1 : end;
+        while (end + 1 < hi && (src.charAt(end) == '\'' || src.charAt(end) == '’')
+                && isLetter(Character.codePointAt(src, end + 1))) {
+            best = end; // межа перед апострофом завжди є \b
+            end = skipLetters(src, end + 1, hi);
+            if (!isWordAt(src, end, hi)) best = end;
+        }
+        return best;
+    }
+
+    /** Кінець серії літер, що починається в {@code p}. */
+    static int skipLetters(CharSequence src, int p, int hi) {
+        while (p < hi) {
+            int cp = Character.codePointAt(src, p);
+            if (!isLetter(cp)) break;
+            p += Character.charCount(cp);
+        }
+        return p;
+    }
+
+    private static boolean isWordAt(CharSequence src, int p, int hi) {
+        return p < hi && isWordChar(Character.codePointAt(src, p));
+    }
+}
@@ -0,0 +1,107 @@
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Векторні ядра ЛР1 на {@code jdk.incubator.vector} (див. {@link MatrixKernels}).
+ *
+ * <p>Окремий файл, бо модуль інкубаторний: компілюється після {@code Laba1.java} командою
+ * {@code javac --add-modules jdk.incubator.vector -cp . -d . vector/VectorMatrixKernels.java}
+ * і підхоплюється лише при запуску з {@code --add-modules jdk.incubator.vector}.
+ * Результати побітово збігаються зі скалярними ядрами.
+ */
+final class VectorMatrixKernels implements MatrixKernels {
+    private static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+    private static final long EXPONENT = 0x7FF0000000000000L;
+    private static final long CANONICAL_NAN = Double.doubleToLongBits(Double.NaN);
+
+    @Override public String name() { return "vector/" + DOUBLES.length() + "x64"; }
+
+    @Override
+    public void xor(double[] a, double[] b, double[] c, int from, int to, IndexListener listener) {
+        int step = DOUBLES.length();
+        int k = from;
+        for (int upper = from + (to - from) / step * step; k < upper; k += step) {
+            xor(a, b, k, listener).intoArray(c, k);
+        }
+        for (; k < to; k++) c[k] = xorAt(a, b, k, listener);
+    }
+
+    /** Вектор C від елемента {@code k}: XOR і заміна NaN/Infinity на 0.0. */
+    private static DoubleVector xor(double[] a, double[] b, int k, IndexListener listener) {
+        LongVector bits = bitsOf(DoubleVector.fromArray(DOUBLES, a, k))
+                .lanewise(VectorOperators.XOR, bitsOf(DoubleVector.fromArray(DOUBLES, b, k)));
+        // NaN/Infinity — усі біти експоненти одиничні
+        VectorMask<Long> bad = bits.and(EXPONENT).eq(EXPONENT);
+        if (bad.anyTrue()) {
+            for (int lane = bad.firstTrue(); lane < DOUBLES.length(); lane++) {
+                if (bad.laneIsSet(lane)) listener.replaced(k + lane);
+            }
+            bits = bits.blend(0L, bad);
+        }
+        return bits.viewAsFloatingLanes().reinterpretAsDoubles();
+    }
+
+    /** Скалярний хвіст: елемент C з індексом {@code k}. */
+    private static double xorAt(double[] a, double[] b, int k, IndexListener listener) {
+        double v = Double.longBitsToDouble(Double.doubleToLongBits(a[k]) ^ Double.doubleToLongBits(b[k]));
+        if (!Double.isFinite(v)) {
+            listener.replaced(k);
+            v = 0.0;
+        }
+        return v;
+    }
+
+    /** Як {@link Double#doubleToLongBits}: будь-який NaN дає канонічні біти. */
+    private static LongVector bitsOf(DoubleVector v) {
+        LongVector bits = v.viewAsIntegralLanes().reinterpretAsLongs();
+        VectorMask<Double> nan = v.test(VectorOperators.IS_NAN);
+        return nan.anyTrue() ? bits.blend(CANONICAL_NAN, nan.cast(bits.species())) : bits;
+    }
+
+    @Override
+    public void columnExtremes(double[] data, int cols, int rowFrom, int rowTo, double[] max, double[] min) {
+        int step = DOUBLES.length();
+        int upper = cols / step * step;
+        // рядок за рядком: дані читаються послідовно, а max/min (2·cols) лишаються в кеші
+        for (int i = rowFrom; i < rowTo; i++) {
+            int base = i * cols;
+            int j = 0;
+            for (; j < upper; j += step) {
+                DoubleVector v = DoubleVector.fromArray(DOUBLES, data, base + j);
+                DoubleVector.fromArray(DOUBLES, max, j).lanewise(VectorOperators.MAX, v).intoArray(max, j);
+                DoubleVector.fromArray(DOUBLES, min, j).lanewise(VectorOperators.MIN, v).intoArray(min, j);
+            }
+            for (; j < cols; j++) {
+                double v = data[base + j];
+                max[j] = Math.max(max[j], v);
+                min[j] = Math.min(min[j], v);
+            }
+        }
+    }
+
+    @Override
+    public void xorColumnExtremes(double[] a, double[] b, double[] c, int cols, int rowFrom, int rowTo,
+                                  double[] max, double[] min, IndexListener listener) {
+        int step = DOUBLES.length();
+        int upper = cols / step * step;
+        for (int i = rowFrom; i < rowTo; i++) {
+            int base = i * cols;
+            int j = 0;
+            for (; j < upper; j += step) {
+                DoubleVector v = xor(a, b, base + j, listener);
+                if (c != null) v.intoArray(c, base + j);
+                DoubleVector.fromArray(DOUBLES, max, j).lanewise(VectorOperators.MAX, v).intoArray(max, j);
+                DoubleVector.fromArray(DOUBLES, min, j).lanewise(VectorOperators.MIN, v).intoArray(min, j);
+            }
+            for (; j < cols; j++) {
+                double v = xorAt(a, b, base + j, listener);
+                if (c != null) c[base + j] = v;
+                max[j] = Math.max(max[j], v);
+                min[j] = Math.min(min[j], v);
+            }
+        }
+    }
+}